@@ -0,0 +1,399 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * CompactLinkedList is a doubly linked list that takes a lot less memory per element than LinkedList
+ *
+ * Every Node in LinkedList is its own object, so on top of the reference to the element it has an object header and two more references (next and prev),
+ * which comes to 24 bytes per element on a typical 64-bit JVM (and 40 without compressed references), before counting the element itself
+ * Here there are no node objects at all
+ * The nodes are slots in two arrays (an arena): values[slot] holds the element, and links[slot] holds a single int that is the XOR of the slot numbers
+ * of the node before it and the node after it
+ * That is 8 bytes per element (4 for the reference in values and 4 for the link), plus whatever room the arrays have not used yet
+ *
+ * Slot 0 is never used and stands for "no node", so the head's link is just the slot after it (x ^ 0 = x), and the same for the tail
+ * A single XOR link is enough to walk the list in either direction as long as you know where you came from: starting at the head with 0 as the node
+ * before it, the next node is links[current] ^ previous, and starting at the tail it works the same way backwards
+ * The catch is that a slot on its own does not say where its neighbours are, so every operation walks from one of the ends (which every operation
+ * apart from inserting to the front or the tail already does anyway)
+ *
+ * Slots of removed nodes go on a free list (chained through their links) and are reused by the next inserts, and the arrays double when they are full
+ */
+
+public class CompactLinkedList<T> implements LinkedListInterface<T>, Iterable<T> {
+
+    static final int NONE = 0;
+    static final int DEFAULT_CAPACITY = 16;
+
+    Object[] values;
+    int[] links;
+
+    int head = NONE;
+    int tail = NONE;
+    int free = NONE;
+    int used = 1;
+    int numElements = 0;
+
+    /*
+     * The constructors create the arrays with room for the given number of elements (16 by default) before they need to grow
+     */
+
+    public CompactLinkedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CompactLinkedList(int initialCapacity) {
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException("Initial capacity must be at least 1: " + initialCapacity);
+
+        values = new Object[initialCapacity + 1];
+        links = new int[initialCapacity + 1];
+    }
+
+    /*
+     * insertToFront() makes the new node's link point at the old head (with NONE on the other side), and swaps NONE for the new node in the old head's
+     * link, and insertToTail() does the same at the other end
+     */
+
+    @Override
+    public void insertToFront(T data) {
+        int node = allocate(data);
+
+        links[node] = head;
+        if (head == NONE)
+            tail = node;
+        else
+            links[head] ^= node;
+        head = node;
+
+        numElements ++;
+    }
+
+    @Override
+    public void insertToTail(T data) {
+        int node = allocate(data);
+
+        links[node] = tail;
+        if (tail == NONE)
+            head = node;
+        else
+            links[tail] ^= node;
+        tail = node;
+
+        numElements ++;
+    }
+
+    /*
+     * insertAfter() and insertBefore() put the new node between the first node holding afterData / beforeData and the node after / before it, replacing
+     * each of those two in the other's link with the new node
+     * If that value is not in the list (or the list is empty), the data is inserted to the end of the list as the new tail, like LinkedList
+     */
+
+    public void insertAfter(T data, T afterData) {
+        int previous = NONE;
+        int current = head;
+
+        while (current != NONE && !values[current].equals(afterData)) {
+            int next = links[current] ^ previous;
+            previous = current;
+            current = next;
+        }
+
+        if (current == NONE) {
+            insertToTail(data);
+            return;
+        }
+
+        linkBetween(data, current, links[current] ^ previous);
+    }
+
+    public void insertBefore(T data, T beforeData) {
+        int previous = NONE;
+        int current = head;
+
+        while (current != NONE && !values[current].equals(beforeData)) {
+            int next = links[current] ^ previous;
+            previous = current;
+            current = next;
+        }
+
+        if (current == NONE) {
+            insertToTail(data);
+            return;
+        }
+
+        linkBetween(data, previous, current);
+    }
+
+    /*
+     * delete() removes the first node holding the data, and deleteAll() removes every one of them in a single walk
+     * Deleting on an empty list does nothing
+     */
+
+    @Override
+    public void delete(T data) {
+        int previous = NONE;
+        int current = head;
+
+        while (current != NONE) {
+            int next = links[current] ^ previous;
+
+            if (values[current].equals(data)) {
+                unlink(current, previous, next);
+                return;
+            }
+
+            previous = current;
+            current = next;
+        }
+    }
+
+    public void deleteAll(T data) {
+        int previous = NONE;
+        int current = head;
+
+        while (current != NONE) {
+            int next = links[current] ^ previous;
+
+            if (values[current].equals(data))
+                unlink(current, previous, next);
+            else
+                previous = current;
+
+            current = next;
+        }
+    }
+
+    /*
+     * search() returns the first element equal to the data, or null if there is none
+     * getDataAt() walks from whichever end is closer to the index, and returns null if there is no element at that index
+     */
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T search(T data) {
+        int previous = NONE;
+
+        for (int current = head; current != NONE; ) {
+            if (values[current].equals(data))
+                return (T) values[current];
+
+            int next = links[current] ^ previous;
+            previous = current;
+            current = next;
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getDataAt(int index) {
+        if (index < 0 || index >= numElements)
+            return null;
+
+        boolean fromHead = index < numElements / 2;
+        int steps = fromHead ? index : numElements - 1 - index;
+        int previous = NONE;
+        int current = fromHead ? head : tail;
+
+        for (int i = 0; i < steps; i ++) {
+            int next = links[current] ^ previous;
+            previous = current;
+            current = next;
+        }
+
+        return (T) values[current];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return numElements == 0;
+    }
+
+    public int size() {
+        return numElements;
+    }
+
+    /*
+     * trimToSize() shrinks the arrays down to exactly the number of elements, moving the nodes into slots 1 to n in list order on the way, so a list that
+     * has finished growing only takes the 8 bytes per element
+     */
+
+    public void trimToSize() {
+        Object[] packedValues = new Object[numElements + 1];
+        int[] packedLinks = new int[numElements + 1];
+        int previous = NONE;
+        int current = head;
+
+        for (int slot = 1; slot <= numElements; slot ++) {
+            packedValues[slot] = values[current];
+            packedLinks[slot] = (slot - 1) ^ (slot == numElements ? NONE : slot + 1);
+
+            int next = links[current] ^ previous;
+            previous = current;
+            current = next;
+        }
+
+        values = packedValues;
+        links = packedLinks;
+        head = numElements == 0 ? NONE : 1;
+        tail = numElements;
+        free = NONE;
+        used = numElements + 1;
+    }
+
+    /*
+     * iterator() walks the list from the head to the tail, and descendingIterator() from the tail to the head
+     */
+
+    @Override
+    public Iterator<T> iterator() {
+        return new XorIterator(head);
+    }
+
+    public Iterator<T> descendingIterator() {
+        return new XorIterator(tail);
+    }
+
+    /*
+     * toString(), toStringReverse(), print() and printReverse() produce the same output as LinkedList
+     */
+
+    @Override
+    public String toString() {
+        return render(true);
+    }
+
+    public String toStringReverse() {
+        return render(false);
+    }
+
+    @Override
+    public void print() {
+        System.out.println(toString());
+    }
+
+    public void printReverse() {
+        System.out.println(toStringReverse());
+    }
+
+    private String render(boolean forward) {
+        StringBuilder string = new StringBuilder();
+
+        try {
+            LinkedList.render(string, forward ? iterator() : descendingIterator(), forward, numElements, -1);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return string.toString();
+    }
+
+    /*
+     * An XorIterator remembers the node it is on and the one it came from, which is all it needs to find the next one in the direction it started in
+     */
+
+    class XorIterator implements Iterator<T> {
+
+        int previous = NONE;
+        int current;
+
+        XorIterator(int start) {
+            current = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != NONE;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (current == NONE)
+                throw new NoSuchElementException();
+
+            T data = (T) values[current];
+            int next = links[current] ^ previous;
+            previous = current;
+            current = next;
+            return data;
+        }
+    }
+
+    /*
+     * linkBetween() links a new node in between two neighbouring nodes (either of which can be NONE at the ends of the list)
+     */
+
+    private void linkBetween(T data, int before, int after) {
+        int node = allocate(data);
+
+        links[node] = before ^ after;
+
+        if (before == NONE)
+            head = node;
+        else
+            links[before] ^= after ^ node;
+
+        if (after == NONE)
+            tail = node;
+        else
+            links[after] ^= before ^ node;
+
+        numElements ++;
+    }
+
+    /*
+     * unlink() links a node's two neighbours to each other (swapping the node for the other neighbour in each of their links) and puts its slot on the
+     * free list
+     */
+
+    private void unlink(int node, int before, int after) {
+        if (before == NONE)
+            head = after;
+        else
+            links[before] ^= node ^ after;
+
+        if (after == NONE)
+            tail = before;
+        else
+            links[after] ^= node ^ before;
+
+        values[node] = null;
+        links[node] = free;
+        free = node;
+
+        numElements --;
+    }
+
+    /*
+     * allocate() hands out a slot for a new node, taking it from the free list if there is one, or else from the end of the arrays (doubling them first
+     * if they are full)
+     */
+
+    private int allocate(T data) {
+        int node;
+
+        if (free != NONE) {
+            node = free;
+            free = links[node];
+        }
+        else {
+            if (used == values.length) {
+                int capacity = values.length * 2;
+                values = Arrays.copyOf(values, capacity);
+                links = Arrays.copyOf(links, capacity);
+            }
+            node = used ++;
+        }
+
+        values[node] = data;
+        return node;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * ConcurrentLinkedList is a linked list that many threads can use at the same time without any locking
+ *
+ * LinkedList has no synchronization at all, so sharing one between threads means wrapping every call in a lock, and then every producer and consumer
+ * thread waits on that one lock
+ * This list is built on java.util.concurrent.ConcurrentLinkedDeque, which is a doubly linked list whose head, tail and links are only ever changed with
+ * compare-and-swap (CAS) operations, so inserting and removing at either end never blocks and a thread that gets delayed can never hold up the others
+ *
+ * The deque's own size() walks the whole list, so the number of elements is kept separately in a LongAdder
+ * A LongAdder spreads its count over several cells when threads are updating it at the same time (striped counting), so keeping the count does not
+ * turn into a new point of contention
+ * While other threads are inserting or removing, the count is only a snapshot and may briefly be off from what a traversal would see
+ *
+ * search(), toString() and the other traversals are weakly consistent: they never throw because of concurrent changes, they see every element that was
+ * in the list for the whole traversal, and they may or may not see elements added or removed while they are running
+ */
+
+public class ConcurrentLinkedList<T> implements LinkedListInterface<T> {
+
+    final ConcurrentLinkedDeque<T> deque = new ConcurrentLinkedDeque<>();
+    final LongAdder numElements = new LongAdder();
+
+    /*
+     * insertToFront() and insertToTail() link the data in at either end of the list with a CAS and then count it
+     * Like the other java.util.concurrent collections, null cannot be stored in this list
+     */
+
+    @Override
+    public void insertToFront(T data) {
+        deque.addFirst(data);
+        numElements.increment();
+    }
+
+    @Override
+    public void insertToTail(T data) {
+        deque.addLast(data);
+        numElements.increment();
+    }
+
+    /*
+     * removeFirst() and removeLast() take the element off either end of the list and return it, or return null if the list is empty
+     * These are what producer / consumer threads use to take elements out of the list without blocking
+     */
+
+    public T removeFirst() {
+        T data = deque.pollFirst();
+
+        if (data != null)
+            numElements.decrement();
+
+        return data;
+    }
+
+    public T removeLast() {
+        T data = deque.pollLast();
+
+        if (data != null)
+            numElements.decrement();
+
+        return data;
+    }
+
+    /*
+     * peekFirst() and peekLast() return the element at either end of the list without removing it, or null if the list is empty
+     */
+
+    public T peekFirst() {
+        return deque.peekFirst();
+    }
+
+    public T peekLast() {
+        return deque.peekLast();
+    }
+
+    /*
+     * delete() removes the first element equal to the data, and deleteAll() keeps removing the first equal element until there are none left
+     * Only the thread whose CAS actually unlinks an element counts it, so two threads deleting the same element do not both decrement the count
+     *
+     * deleteAll() could unlink every match in one pass with the deque's removeIf(), but removeIf() does not say which of its CASes won, and counting the
+     * matches instead would count an element twice whenever another thread removes it at the same moment, so the count would drift for good
+     * removeFirstOccurrence() does say whether this thread won, so deleteAll() pays for a walk from the head per match (O(n) per match instead of O(n)
+     * in total) to keep size() exact
+     */
+
+    @Override
+    public void delete(T data) {
+        if (deque.removeFirstOccurrence(data))
+            numElements.decrement();
+    }
+
+    public void deleteAll(T data) {
+        while (deque.removeFirstOccurrence(data))
+            numElements.decrement();
+    }
+
+    /*
+     * search() walks the list from the head and returns the first element equal to the data, or null if there is none
+     */
+
+    @Override
+    public T search(T data) {
+        for (T element : deque) {
+            if (element.equals(data))
+                return element;
+        }
+
+        return null;
+    }
+
+    /*
+     * size() returns the current count, isEmpty() checks the deque itself so that it is exact at the moment it is called
+     */
+
+    public int size() {
+        return numElements.intValue();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return deque.isEmpty();
+    }
+
+    /*
+     * toString() and toStringReverse() produce the same output as LinkedList, walking the deque forwards or backwards
+     * The size printed is the number of elements actually walked, so the output is always consistent with itself even if other threads are changing
+     * the list at the same time
+     */
+
+    @Override
+    public String toString() {
+        return render(deque.iterator(), " -> ");
+    }
+
+    public String toStringReverse() {
+        return render(deque.descendingIterator(), " <- ");
+    }
+
+    @Override
+    public void print() {
+        System.out.println(toString());
+    }
+
+    public void printReverse() {
+        System.out.println(toStringReverse());
+    }
+
+    private String render(Iterator<T> elements, String arrow) {
+        StringBuilder string = new StringBuilder("[");
+        int walked = 0;
+
+        while (elements.hasNext()) {
+            if (walked > 0)
+                string.append(arrow);
+            string.append(elements.next());
+            walked ++;
+        }
+
+        return string.append("]\nSize: ").append(walked).toString();
+    }
+}
\ No newline at end of file
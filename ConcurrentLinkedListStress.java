@@ -0,0 +1,291 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/*
+ * ConcurrentLinkedListStress hammers a ConcurrentLinkedList from many threads at once and checks that nothing went missing, nothing showed up twice, and
+ * that size() agrees with what is actually in the list once every thread has finished
+ *
+ * Every value a producer inserts is unique (producer number * operations + sequence number), so the checks can tell exactly which values are wrong
+ *
+ * The insert/remove phase has producers inserting to the front and the tail while the same number of consumers take elements off the front and the
+ * tail, until the producers are done and the list is empty
+ * Every value has to have been taken out exactly once (a count of 0 means it was lost, more than 1 means it was handed out twice), and the list has to
+ * be empty with a size() of 0
+ *
+ * The insert/delete phase has producers that insert their values and delete() every third one of their own values again a few inserts later, and also
+ * insert a few marker values (the same MARKERS values over and over) that one more thread keeps removing with deleteAll() while they are being inserted
+ * Once every thread is done and the markers have been deleted one last time, the list has to hold exactly the values that were not deleted, each once,
+ * and size() has to match the number of elements walked
+ *
+ * The delete race phase fills the list with many copies of a few SHARED values, and then has every thread go after those same values at once: some
+ * with delete(), some with deleteAll(), some taking elements off the ends, while producers keep inserting more copies
+ * Two threads regularly try to remove the very same element here, so this is where a remove that counts an element its CAS did not win would show up
+ * size() has to match the number of elements walked once they all stop, and again after every value has been deleted (when both have to be 0)
+ *
+ * Usage: java Java.libraries.DATA_STRUCTURES.linkedList.ConcurrentLinkedListStress [threads] [operations per thread] [rounds]
+ * It prints one line per phase and round, and exits with a non-zero status (after printing what went wrong) as soon as a check fails
+ */
+
+public class ConcurrentLinkedListStress {
+
+    static final int DEFAULT_OPERATIONS = 100_000;
+    static final int DEFAULT_ROUNDS = 5;
+    static final int WINDOW = 16;
+    static final int MARKERS = 4;
+    static final int MARKER_EVERY = 8;
+    static final int SHARED = 8;
+    static final int COPIES = 256;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(2, Runtime.getRuntime().availableProcessors());
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OPERATIONS;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+
+        System.out.printf("%-16s %6s %8s %12s %10s%n", "phase", "round", "threads", "operations", "ms");
+
+        try {
+            for (int round = 1; round <= rounds; round ++) {
+                long start = System.nanoTime();
+                insertRemove(threads, operations);
+                System.out.printf("%-16s %6d %8d %12d %10.1f%n", "insert/remove", round, threads, operations, (System.nanoTime() - start) / 1e6);
+
+                start = System.nanoTime();
+                insertDelete(threads, operations);
+                System.out.printf("%-16s %6d %8d %12d %10.1f%n", "insert/delete", round, threads, operations, (System.nanoTime() - start) / 1e6);
+
+                start = System.nanoTime();
+                deleteRace(threads, operations);
+                System.out.printf("%-16s %6d %8d %12d %10.1f%n", "delete race", round, threads, operations, (System.nanoTime() - start) / 1e6);
+            }
+        }
+        catch (IllegalStateException e) {
+            System.out.println("FAILED: " + e.getMessage());
+            System.exit(1);
+        }
+
+        System.out.println("All checks passed");
+    }
+
+    /*
+     * insertRemove() runs the producers and consumers of the insert/remove phase and then checks how many times each value was taken out
+     */
+
+    static void insertRemove(int producers, int operations) throws InterruptedException {
+        ConcurrentLinkedList<Integer> list = new ConcurrentLinkedList<>();
+        AtomicIntegerArray taken = new AtomicIntegerArray(producers * operations);
+        AtomicBoolean producing = new AtomicBoolean(true);
+        List<Thread> producerThreads = new ArrayList<>();
+        List<Thread> consumerThreads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p ++) {
+            int base = p * operations;
+            producerThreads.add(new Thread(() -> {
+                for (int i = 0; i < operations; i ++) {
+                    if ((i & 1) == 0)
+                        list.insertToFront(base + i);
+                    else
+                        list.insertToTail(base + i);
+                }
+            }));
+        }
+
+        for (int c = 0; c < producers; c ++) {
+            boolean fromFront = (c & 1) == 0;
+            consumerThreads.add(new Thread(() -> {
+                while (true) {
+                    Integer value = fromFront ? list.removeFirst() : list.removeLast();
+
+                    if (value != null)
+                        taken.incrementAndGet(value);
+                    else if (!producing.get() && list.isEmpty())
+                        return;
+                }
+            }));
+        }
+
+        startAll(consumerThreads);
+        startAll(producerThreads);
+        joinAll(producerThreads);
+        producing.set(false);
+        joinAll(consumerThreads);
+
+        for (int value = 0; value < taken.length(); value ++) {
+            int count = taken.get(value);
+            if (count == 0)
+                throw new IllegalStateException("insert/remove: value " + value + " was lost");
+            if (count > 1)
+                throw new IllegalStateException("insert/remove: value " + value + " was taken out " + count + " times");
+        }
+
+        check("insert/remove", list, new boolean[0]);
+    }
+
+    /*
+     * insertDelete() runs the producers and the marker deleter of the insert/delete phase
+     * Values a producer is going to delete again go in at the front, so delete() (which walks from the head) finds them after a few steps, and the rest
+     * go in at the tail
+     */
+
+    static void insertDelete(int producers, int operations) throws InterruptedException {
+        ConcurrentLinkedList<Integer> list = new ConcurrentLinkedList<>();
+        boolean[] expected = new boolean[producers * operations];
+        AtomicBoolean producing = new AtomicBoolean(true);
+        List<Thread> producerThreads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p ++) {
+            int base = p * operations;
+            for (int i = 0; i < operations; i ++)
+                expected[base + i] = !deletes(i);
+
+            producerThreads.add(new Thread(() -> {
+                for (int i = 0; i < operations; i ++) {
+                    if (deletes(i))
+                        list.insertToFront(base + i);
+                    else
+                        list.insertToTail(base + i);
+
+                    if (i >= WINDOW && deletes(i - WINDOW))
+                        list.delete(base + i - WINDOW);
+                    if (i % MARKER_EVERY == 0)
+                        list.insertToTail(marker(i / MARKER_EVERY));
+                }
+
+                for (int i = Math.max(0, operations - WINDOW); i < operations; i ++) {
+                    if (deletes(i))
+                        list.delete(base + i);
+                }
+            }));
+        }
+
+        Thread deleter = new Thread(() -> {
+            for (int m = 0; producing.get(); m ++)
+                list.deleteAll(marker(m));
+        });
+
+        deleter.start();
+        startAll(producerThreads);
+        joinAll(producerThreads);
+        producing.set(false);
+        deleter.join();
+
+        for (int m = 0; m < MARKERS; m ++)
+            list.deleteAll(marker(m));
+
+        check("insert/delete", list, expected);
+    }
+
+    /*
+     * deleteRace() runs the delete race phase: each thread gets a role from its number (producer, delete(), deleteAll() or taking from the ends) and
+     * works through the SHARED values for its share of the operations
+     * Producers only ever add copies, so the list never runs dry for long, and the phase ends when every thread has done its operations
+     */
+
+    static void deleteRace(int threads, int operations) throws InterruptedException {
+        ConcurrentLinkedList<Integer> list = new ConcurrentLinkedList<>();
+        List<Thread> racers = new ArrayList<>();
+        int rounds = Math.max(1, operations / COPIES);
+
+        for (int copy = 0; copy < COPIES; copy ++)
+            for (int value = 0; value < SHARED; value ++)
+                list.insertToTail(value);
+
+        for (int t = 0; t < Math.max(4, threads); t ++) {
+            int role = t % 4;
+            racers.add(new Thread(() -> {
+                for (int i = 0; i < rounds * SHARED; i ++) {
+                    int value = i % SHARED;
+                    switch (role) {
+                        case 0:
+                            for (int copy = 0; copy < COPIES / SHARED; copy ++)
+                                list.insertToFront(value);
+                            break;
+                        case 1:
+                            list.delete(value);
+                            break;
+                        case 2:
+                            if (i % SHARED == 0)
+                                list.deleteAll(value);
+                            else
+                                list.delete(value);
+                            break;
+                        default:
+                            if ((i & 1) == 0)
+                                list.removeFirst();
+                            else
+                                list.removeLast();
+                    }
+                }
+            }));
+        }
+
+        startAll(racers);
+        joinAll(racers);
+
+        int walked = 0;
+        for (Integer value : list.deque) {
+            if (value < 0 || value >= SHARED)
+                throw new IllegalStateException("delete race: value " + value + " should not be in the list");
+            walked ++;
+        }
+        if (list.size() != walked)
+            throw new IllegalStateException("delete race: size() is " + list.size() + " but the list holds " + walked + " elements");
+
+        for (int value = 0; value < SHARED; value ++)
+            list.deleteAll(value);
+        if (list.size() != 0 || !list.isEmpty())
+            throw new IllegalStateException("delete race: size() is " + list.size() + " after deleting every value");
+    }
+
+    static boolean deletes(int sequence) {
+        return sequence % 3 == 0;
+    }
+
+    static Integer marker(int m) {
+        return -1 - m % MARKERS;
+    }
+
+    /*
+     * check() walks the list once everything has stopped and makes sure it holds exactly the expected values (each once, and no markers), and that
+     * size() agrees with the number of elements walked
+     */
+
+    static void check(String phase, ConcurrentLinkedList<Integer> list, boolean[] expected) {
+        boolean[] seen = new boolean[expected.length];
+        int walked = 0;
+        int wanted = 0;
+
+        for (Integer value : list.deque) {
+            if (value < 0 || value >= expected.length || !expected[value])
+                throw new IllegalStateException(phase + ": value " + value + " should not be in the list");
+            if (seen[value])
+                throw new IllegalStateException(phase + ": value " + value + " is in the list twice");
+            seen[value] = true;
+            walked ++;
+        }
+
+        for (int value = 0; value < expected.length; value ++) {
+            if (expected[value]) {
+                wanted ++;
+                if (!seen[value])
+                    throw new IllegalStateException(phase + ": value " + value + " was lost");
+            }
+        }
+
+        if (walked != wanted || list.size() != walked)
+            throw new IllegalStateException(phase + ": size() is " + list.size() + " but the list holds " + walked + " of " + wanted + " elements");
+    }
+
+    static void startAll(List<Thread> threads) {
+        for (Thread thread : threads)
+            thread.start();
+    }
+
+    static void joinAll(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads)
+            thread.join();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * An ElementSerializer turns the elements of a list into bytes and back, for the lists that store their elements outside of the Java heap
+ *
+ * fixedLength() is the number of bytes every element takes if they all take the same amount (like an int or a long), or -1 if the length depends on
+ * the element (like a String), in which case sizeOf() says how many bytes a particular element needs
+ * write() puts an element into a buffer starting at the buffer's position, and read() reads one back from the buffer's position given the number of
+ * bytes it was written with
+ *
+ * Two elements are treated as equal by these lists when their serialized bytes are equal, so a serializer should always write the same bytes for
+ * elements that are equals() to each other
+ */
+
+public interface ElementSerializer<T> {
+
+    int fixedLength();
+
+    int sizeOf(T data);
+
+    void write(T data, ByteBuffer buffer);
+
+    T read(ByteBuffer buffer, int length);
+
+    /*
+     * Serializers for the most common element types
+     * Integers and longs are written as 4 and 8 big-endian bytes, Strings are written as their UTF-8 bytes
+     */
+
+    ElementSerializer<Integer> INTEGER = new ElementSerializer<Integer>() {
+        public int fixedLength() { return Integer.BYTES; }
+        public int sizeOf(Integer data) { return Integer.BYTES; }
+        public void write(Integer data, ByteBuffer buffer) { buffer.putInt(data); }
+        public Integer read(ByteBuffer buffer, int length) { return buffer.getInt(); }
+    };
+
+    ElementSerializer<Long> LONG = new ElementSerializer<Long>() {
+        public int fixedLength() { return Long.BYTES; }
+        public int sizeOf(Long data) { return Long.BYTES; }
+        public void write(Long data, ByteBuffer buffer) { buffer.putLong(data); }
+        public Long read(ByteBuffer buffer, int length) { return buffer.getLong(); }
+    };
+
+    ElementSerializer<String> STRING = new ElementSerializer<String>() {
+        public int fixedLength() { return -1; }
+        public int sizeOf(String data) { return data.getBytes(StandardCharsets.UTF_8).length; }
+        public void write(String data, ByteBuffer buffer) { buffer.put(data.getBytes(StandardCharsets.UTF_8)); }
+        public String read(ByteBuffer buffer, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
\ No newline at end of file
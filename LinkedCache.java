@@ -0,0 +1,379 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.HashMap;
+
+/*
+ * LinkedCache is a bounded key / value cache built out of the same doubly linked Node chains as LinkedList, plus a HashMap from each key to its node
+ *
+ * Building an LRU cache straight on top of LinkedList means moving an entry to the front with delete() (which walks the list to find it) followed by
+ * insertToFront()
+ * Here the map hands over the entry's node directly, so it can be unlinked and linked back in at the front in O(1), and every other operation is O(1) too
+ *
+ * The cache is bounded by weight: every entry weighs 1 by default (so the bound is just the number of entries), or a Weigher can give each entry its
+ * own weight (for example its size in bytes)
+ * Whenever the total weight goes over the maximum, entries are evicted until it fits again, and which entry goes first depends on the policy:
+ *
+ * - LRU evicts the least recently used entry: there is one list with the most recently used entry at the head, and the victim is always the tail
+ *
+ * - SEGMENTED_LRU splits the entries into a probation list and a protected list (which can hold up to 80% of the maximum weight)
+ *   New entries go into probation, and only entries that are used again get moved to protected, so a burst of entries that are only used once (like a
+ *   big scan) can only push other probation entries out and not the ones that are used over and over
+ *   When protected is too heavy its least recently used entries are moved back down to probation, and victims come from the tail of probation first
+ *
+ * - LFU evicts the least frequently used entry (and out of those, the least recently used one)
+ *   Entries are grouped into buckets by how many times they have been used, and the buckets themselves are kept in a list in increasing order of use
+ *   count, so the victim is always the tail of the first bucket, and using an entry just moves it to the bucket right after its current one
+ *
+ * The cache also counts hits, misses and evictions
+ * Like LinkedList it is not synchronized
+ */
+
+public class LinkedCache<K, V> {
+
+    public enum Policy { LRU, SEGMENTED_LRU, LFU }
+
+    /*
+     * A Weigher returns how much an entry counts towards the cache's maximum weight
+     */
+
+    public interface Weigher<K, V> {
+
+        long weigh(K key, V value);
+    }
+
+    /*
+     * An Entry is what the nodes of the cache hold: the key and value, the entry's weight, which segment it is in (for SEGMENTED_LRU), and the node of
+     * the bucket it is in (for LFU)
+     */
+
+    static class Entry<K, V> {
+
+        final K key;
+        V value;
+        long weight;
+        boolean inProtected;
+        Node<Bucket<K, V>> bucket;
+
+        Entry(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /*
+     * A Bucket is an LFU bucket: every entry in it has been used frequency times, and the most recently used one is at the head
+     */
+
+    static class Bucket<K, V> {
+
+        final int frequency;
+        final LinkedList<Entry<K, V>> entries = new LinkedList<>();
+
+        Bucket(int frequency) {
+            this.frequency = frequency;
+        }
+    }
+
+    static final double PROTECTED_SHARE = 0.8;
+
+    final Policy policy;
+    final long maxWeight;
+    final long maxProtectedWeight;
+    final Weigher<? super K, ? super V> weigher;
+    final HashMap<K, Node<Entry<K, V>>> nodes = new HashMap<>();
+
+    /*
+     * recent is the only list used by LRU and is the probation list for SEGMENTED_LRU, protectedEntries is the protected list and buckets is the list of
+     * LFU buckets
+     */
+
+    final LinkedList<Entry<K, V>> recent = new LinkedList<>();
+    final LinkedList<Entry<K, V>> protectedEntries = new LinkedList<>();
+    final LinkedList<Bucket<K, V>> buckets = new LinkedList<>();
+
+    long weight = 0;
+    long protectedWeight = 0;
+    long hits = 0;
+    long misses = 0;
+    long evictions = 0;
+
+    /*
+     * The first constructor creates an LRU cache that holds up to maxSize entries
+     * The others take the policy, and optionally a Weigher, in which case maxWeight is the maximum total weight instead of the maximum number of entries
+     */
+
+    public LinkedCache(long maxSize) {
+        this(maxSize, Policy.LRU);
+    }
+
+    public LinkedCache(long maxWeight, Policy policy) {
+        this(maxWeight, policy, (key, value) -> 1);
+    }
+
+    public LinkedCache(long maxWeight, Policy policy, Weigher<? super K, ? super V> weigher) {
+        if (maxWeight < 1)
+            throw new IllegalArgumentException("Maximum weight must be at least 1: " + maxWeight);
+
+        this.maxWeight = maxWeight;
+        this.maxProtectedWeight = (long) (maxWeight * PROTECTED_SHARE);
+        this.policy = policy;
+        this.weigher = weigher;
+    }
+
+    /*
+     * get() returns the value for a key (or null if it is not in the cache), counting a hit or a miss, and marks the entry as used
+     * peek() returns the value without counting anything or changing the entry's position
+     */
+
+    public V get(K key) {
+        Node<Entry<K, V>> node = nodes.get(key);
+
+        if (node == null) {
+            misses ++;
+            return null;
+        }
+
+        hits ++;
+        touch(node);
+        return node.data.value;
+    }
+
+    public V peek(K key) {
+        Node<Entry<K, V>> node = nodes.get(key);
+        return node == null ? null : node.data.value;
+    }
+
+    public boolean containsKey(K key) {
+        return nodes.containsKey(key);
+    }
+
+    /*
+     * put() stores a value for a key and returns the value it replaced (or null)
+     * Replacing a value counts as using the entry, while a new entry starts out as the most recently used entry (in probation for SEGMENTED_LRU, and
+     * with a use count of one for LFU)
+     * Entries are then evicted until the cache is within its maximum weight again
+     */
+
+    public V put(K key, V value) {
+        long entryWeight = weigher.weigh(key, value);
+
+        if (entryWeight < 0)
+            throw new IllegalArgumentException("Weight cannot be negative: " + entryWeight);
+
+        Node<Entry<K, V>> node = nodes.get(key);
+        V previous = null;
+
+        if (node != null) {
+            Entry<K, V> entry = node.data;
+            previous = entry.value;
+            entry.value = value;
+            weight += entryWeight - entry.weight;
+            if (entry.inProtected)
+                protectedWeight += entryWeight - entry.weight;
+            entry.weight = entryWeight;
+            touch(node);
+        }
+        else {
+            Entry<K, V> entry = new Entry<>(key, value, entryWeight);
+            node = new Node<>(entry);
+            nodes.put(key, node);
+            weight += entryWeight;
+            add(node);
+        }
+
+        while (weight > maxWeight && !nodes.isEmpty())
+            evict();
+
+        return previous;
+    }
+
+    /*
+     * remove() takes a key out of the cache and returns its value (or null if it was not there)
+     */
+
+    public V remove(K key) {
+        Node<Entry<K, V>> node = nodes.remove(key);
+
+        if (node == null)
+            return null;
+
+        Entry<K, V> entry = node.data;
+        detach(node);
+        weight -= entry.weight;
+
+        return entry.value;
+    }
+
+    /*
+     * moveToFront() marks an entry as used (just like get() but without counting a hit) and returns whether the key was in the cache
+     */
+
+    public boolean moveToFront(K key) {
+        Node<Entry<K, V>> node = nodes.get(key);
+
+        if (node == null)
+            return false;
+
+        touch(node);
+        return true;
+    }
+
+    /*
+     * evict() evicts the entry that the policy picks as the victim (the tail of the LRU list, the tail of probation, or the tail of the first LFU bucket)
+     * and returns its key, or returns null if the cache is empty
+     */
+
+    public K evict() {
+        Node<Entry<K, V>> victim;
+
+        switch (policy) {
+            case SEGMENTED_LRU:
+                victim = recent.tail != null ? recent.tail : protectedEntries.tail;
+                break;
+            case LFU:
+                victim = buckets.head == null ? null : buckets.head.data.entries.tail;
+                break;
+            default:
+                victim = recent.tail;
+        }
+
+        if (victim == null)
+            return null;
+
+        Entry<K, V> entry = victim.data;
+        nodes.remove(entry.key);
+        detach(victim);
+        weight -= entry.weight;
+        evictions ++;
+
+        return entry.key;
+    }
+
+    /*
+     * The sizes and counters
+     * hitRate() is the share of get() calls that were hits (0 if get() has not been called yet)
+     */
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public long weight() {
+        return weight;
+    }
+
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    public long hitCount() {
+        return hits;
+    }
+
+    public long missCount() {
+        return misses;
+    }
+
+    public long evictionCount() {
+        return evictions;
+    }
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /*
+     * add() links a new entry's node in where the policy wants new entries
+     */
+
+    private void add(Node<Entry<K, V>> node) {
+        if (policy == Policy.LFU) {
+            Node<Bucket<K, V>> first = buckets.head;
+
+            if (first == null || first.data.frequency != 1) {
+                buckets.linkFirst(new Node<>(new Bucket<>(1)));
+                first = buckets.head;
+            }
+
+            first.data.entries.linkFirst(node);
+            node.data.bucket = first;
+        }
+        else {
+            recent.linkFirst(node);
+        }
+    }
+
+    /*
+     * touch() marks an entry as used
+     * LRU moves it to the front of the list, SEGMENTED_LRU moves it to the front of protected (and then moves entries back down to probation if protected
+     * is too heavy), and LFU moves it to the front of the bucket for one more use (creating that bucket right after the current one if it does not exist
+     * yet, and dropping the current bucket if it is now empty)
+     */
+
+    private void touch(Node<Entry<K, V>> node) {
+        Entry<K, V> entry = node.data;
+
+        switch (policy) {
+            case SEGMENTED_LRU:
+                detach(node);
+                protectedEntries.linkFirst(node);
+                entry.inProtected = true;
+                protectedWeight += entry.weight;
+
+                while (protectedWeight > maxProtectedWeight && protectedEntries.numElements > 1) {
+                    Node<Entry<K, V>> demoted = protectedEntries.tail;
+                    detach(demoted);
+                    recent.linkFirst(demoted);
+                }
+                break;
+
+            case LFU:
+                Node<Bucket<K, V>> current = entry.bucket;
+                Node<Bucket<K, V>> next = current.next;
+                int frequency = current.data.frequency + 1;
+
+                if (next == null || next.data.frequency != frequency) {
+                    buckets.linkAfter(new Node<>(new Bucket<>(frequency)), current);
+                    next = current.next;
+                }
+
+                detach(node);
+                next.data.entries.linkFirst(node);
+                entry.bucket = next;
+                break;
+
+            default:
+                if (recent.head != node) {
+                    recent.detach(node);
+                    recent.linkFirst(node);
+                }
+        }
+    }
+
+    /*
+     * detach() takes an entry's node out of whichever list it is in, keeping the segment weights and the LFU buckets up to date
+     */
+
+    private void detach(Node<Entry<K, V>> node) {
+        Entry<K, V> entry = node.data;
+
+        if (policy == Policy.LFU) {
+            Node<Bucket<K, V>> bucket = entry.bucket;
+            bucket.data.entries.detach(node);
+            entry.bucket = null;
+
+            if (bucket.data.entries.isEmpty())
+                buckets.unlink(bucket);
+        }
+        else if (entry.inProtected) {
+            protectedEntries.detach(node);
+            entry.inProtected = false;
+            protectedWeight -= entry.weight;
+        }
+        else {
+            recent.detach(node);
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,24 @@
 package Java.libraries.DATA_STRUCTURES.linkedList;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /*
  * A linked list is a type of data structure that is similar to an array in the sense that it stores the same type of data in a list
  * It is differnt because you cannot really index into a linked list like you can in an array
@@ -22,7 +41,7 @@ package Java.libraries.DATA_STRUCTURES.linkedList;
  * grow and shrink automatically as needed
  */
 
-public class LinkedList<T> implements LinkedListInterface<T> {
+public class LinkedList<T> implements LinkedListInterface<T>, Iterable<T> {
 
     /*
      * The linked list itself stores 3 variables: the head of the list (first elements), the tail of the list (last element), and the number of elements
@@ -34,6 +53,85 @@ public class LinkedList<T> implements LinkedListInterface<T> {
     Node<T> tail;
     int numElements = 0;
 
+    /*
+     * The index is only used when the list is created in indexed mode, otherwise it stays null
+     * It maps each value stored in the list to a bucket holding every node with that value
+     * The nodes of an indexed list are IndexedNodes, which have a second pair of links (sameNext and samePrev) that chain the nodes of a bucket together,
+     * so a node can be added to or taken out of its bucket in O(1) no matter how many duplicates the value has
+     * 
+     * Because of this, search(), delete(), deleteAll(), insertAfter() and insertBefore() can jump straight to the first node of the bucket instead of
+     * walking the list and calling equals() on every node, which turns them from O(n) into O(1) expected
+     * 
+     * A bucket is kept in the same order as its nodes appear in the list (so its first node is the first matching node you would reach walking from the
+     * head) whenever that can be done without walking: nodes inserted at either end go to that end of their bucket, and a node inserted right next to an
+     * equal node goes next to it in the bucket
+     * A duplicate inserted in the middle of the list away from any equal node goes to the back of its bucket and marks the bucket as out of order, and
+     * the next lookup of that value walks the list once to put the bucket back in order (so that walk is only paid by lists that really do have
+     * scattered duplicates, and only once per batch of such inserts)
+     * 
+     * The cost is one extra map entry per distinct value and two extra links per node, and the values stored in an indexed list must have a hashCode()
+     * that agrees with equals() and must not be changed while they are in the list
+     */
+
+    HashMap<T, Bucket<T>> valueIndex;
+
+    static final class IndexedNode<T> extends Node<T> {
+
+        IndexedNode<T> sameNext;
+        IndexedNode<T> samePrev;
+
+        IndexedNode(T data) {
+            super(data);
+        }
+    }
+
+    static final class Bucket<T> {
+
+        IndexedNode<T> first;
+        IndexedNode<T> last;
+        boolean ordered = true;
+    }
+
+    /*
+     * The cursor remembers the last node that was reached by index (through getDataAt(), insertAt() or removeAt()) and what index it was at
+     * Looking up an index close to the cursor can then start from the cursor instead of from one of the ends, so going through the list by index one
+     * element at a time only moves one node per call
+     * cursorNode is null whenever the list has been changed in a way that could have moved the cursor's node to a different index
+     */
+
+    Node<T> cursorNode;
+    int cursorIndex;
+
+    /*
+     * modCount counts every time a node is linked into or unlinked from the list
+     * Iterators and spliterators remember what it was when they started, and if it changes behind their back (because the list was changed by something
+     * other than the iterator itself) they throw a ConcurrentModificationException instead of carrying on over nodes that may no longer be in the list
+     */
+
+    int modCount = 0;
+
+    /*
+     * The node pool holds nodes that have been unlinked from the list so the next insert can reuse one of them instead of creating a new Node
+     * The pooled nodes are chained together through their next links, poolSize is how many there are, and there are never more than poolCapacity of
+     * them (so a list that shrinks a lot does not hold on to all of its old nodes)
+     * poolCapacity starts at 0, which means recycling is off, until setNodePoolCapacity() is called
+     */
+
+    Node<T> pool;
+    int poolSize = 0;
+    int poolCapacity = 0;
+
+    /*
+     * The listener is told about every insert, delete, search and lookup by index, and about each call to a bulk operation (see LinkedListListener),
+     * and stays null unless setListener() is called
+     * While it is null nothing is timed or counted, so a list without a listener does no extra work apart from checking that it is null
+     * traversed is how many nodes the operation in progress has walked over, which findNode(), nodeAt() and deleteAll() write down (only when there is
+     * a listener, so a list without one never stores to it)
+     */
+
+    LinkedListListener listener;
+    int traversed;
+
     /*
      * The consturctor for the linked list just sets the head and tail of the list to null, since no elements have been added yet
      */
@@ -43,410 +141,1491 @@ public class LinkedList<T> implements LinkedListInterface<T> {
         tail = null;
     }
 
+    /*
+     * This constructor does the same thing but lets the user turn on indexed mode, which creates the (empty) index described above
+     */
+
+    public LinkedList(boolean indexed) {
+        this();
+        if (indexed)
+            valueIndex = new HashMap<>();
+    }
+
+    /*
+     * setNodePoolCapacity() turns on node recycling, keeping up to capacity unlinked nodes around to be reused by later inserts
+     * This is meant for queue-like workloads that keep inserting and deleting, where it stops every insert from creating a new Node and every delete
+     * from leaving one behind for the garbage collector
+     * A capacity of 0 turns recycling back off and lets go of any nodes in the pool
+     */
+
+    public void setNodePoolCapacity(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Pool capacity cannot be negative: " + capacity);
+
+        poolCapacity = capacity;
+
+        while (poolSize > capacity) {
+            Node<T> node = pool;
+            pool = node.next;
+            node.next = null;
+            poolSize --;
+        }
+    }
+
+    /*
+     * returns whether or not this list keeps an index of its values
+     */
+
+    public boolean isIndexed() {
+        return valueIndex != null;
+    }
+
+    /*
+     * setListener() plugs in a listener (like a LinkedListMetrics) to be told about the list's operations, and passing null takes it back out
+     */
+
+    public void setListener(LinkedListListener listener) {
+        this.listener = listener;
+    }
+
+    public LinkedListListener getListener() {
+        return listener;
+    }
+
     /*
      * The insertToFront() method takes in data of type T and creates a new node with that data
-     * If the linked list is empty, it sets both the head and the tail to the new node, since it is the only element in the list
+     * It then hands the node to linkFirst() (further down) which does the actual linking
      * 
-     * If the linked list is not empty, it sets the node's next link to be the head (since it is being added to the front in front of the current head),
+     * If the linked list is empty, the new node becomes both the head and the tail, since it is the only element in the list
+     * 
+     * If the linked list is not empty, the node's next link is set to be the head (since it is being added to the front in front of the current head),
      * the node's previous link to null (since the node will become the head and have nothing in front of it), the current head's previous link to be the 
-     * new node (since the node is being added in front of the head and so the head must be linked backwards to the new node), and finally it overrites the 
-     * head to be the new node
+     * new node (since the node is being added in front of the head and so the head must be linked backwards to the new node), and finally the head is 
+     * overriten to be the new node
      * 
-     * finally it increments the number of elements by 1
+     * finally the number of elements is incremented by 1
      */
 
     @Override
     public void insertToFront(T data) {
-        Node<T> node = new Node<>(data);
-
-        if (isEmpty()) {
-            head = node;
-            tail = node;
-        }
-        else {
-            node.next = head;
-            node.prev = null;
-            head.prev = node;
-            head = node;
-        }
-
-        numElements ++;
+        long start = startTiming();
+        linkFirst(newNode(data));
+        if (listener != null)
+            record(LinkedListListener.Operation.INSERT_TO_FRONT, start, true);
     }
 
     /*
-     * Inserting to the tail is similar to inserting to the head only to the end of the list
-     * Again, if the list is empty, it sets both the head and tail to the new node
+     * Inserting to the tail is similar to inserting to the head only to the end of the list, and the linking is done by linkLast()
+     * Again, if the list is empty, the new node becomes both the head and tail
      * 
-     * If it is not empty, it sets the new node's next link to null (since it is being placed at the end and will have nothing after it), the new node's
+     * If it is not empty, the new node's next link is set to null (since it is being placed at the end and will have nothing after it), the new node's
      * previous to be the tail (since it is being inserted after the tail and must be linked backwards to the current tail), the current tail's next to be
-     * the new node (since the new node is inserted after the current tail so the current tail must be linked forwards to the new node), and finally it
-     * overrites the tail to be the new node
+     * the new node (since the new node is inserted after the current tail so the current tail must be linked forwards to the new node), and finally the
+     * tail is overriten to be the new node
      * 
-     * Lastly, it increments the number of elements by 1
+     * Lastly, the number of elements is incremented by 1
      */
 
     @Override
     public void insertToTail(T data) {
-        Node<T> node = new Node<>(data);
-
-        if (isEmpty()) {
-            head = node;
-            tail = node;
-        }
-        else {
-            node.next = null;
-            node.prev = tail;
-            tail.next = node;
-            tail = node;
-        }
-
-        numElements ++;
+        long start = startTiming();
+        linkLast(newNode(data));
+        if (listener != null)
+            record(LinkedListListener.Operation.INSERT_TO_TAIL, start, true);
     }
 
     /*
      * this method takes in the data to be inserted and the data to insert it after
      * it then creates a new node with the data to be inserted
-     * If the list is empty, it simply sets the new node to be the head and tail
-     * Otherwise, it sets a current variable to the head of the list and then iterates through the list until either the current node becomes null, or
-     * the data to insert the new node after is reached
-     * 
-     * if the data to be inserted after is reached, two situations arise
-     * This data to be inserted after can be the tail or any other node
-     * If it is the tail, the new node is inserted after the current tail and becomes the new tail
      * 
-     * If it is any other node, the new node is inserted after this any other node and the surrounding elements' links are changed accordingly
-     * If the data to be inserted after is found, the loop is broken out of to prevent it from continuing onwards after the correct spot has already been 
-     * found
+     * It uses findNode() to get the first node holding the data to be inserted after (by walking the list, or straight from the index in indexed mode)
+     * If that node is found, the new node is linked in right after it with linkAfter(), which also takes care of the case where that node is the tail
+     * and the new node becomes the new tail
      * 
-     * If the loop finished all the way through without finding the data to be inserted after, then that data is not in the list and the new node is just
-     * inserted to the end of the list as the new tail
-     * 
-     * finally the number of elements is incremented by one
+     * If the data to be inserted after is not in the list (or the list is empty), the new node is just inserted to the end of the list as the new tail
      */
 
     public void insertAfter(T data, T afterData) {
-        Node<T> node = new Node<>(data);
+        long start = startTiming();
+        Node<T> node = newNode(data);
+        Node<T> current = findNode(afterData);
 
-        if (isEmpty()) {
-            head = node;
-            tail = node;
-        }
-        else {
-            Node<T> current = head;
-            while (current != null) {
-                if (current.data.equals(afterData)) {
-                    if (current.next == null) {
-                        current.next = node;
-                        node.prev = current;
-                        tail = node;
-                        break;
-                    }
-                    else {
-                        node.prev = current;
-                        node.next = current.next;
-                        current.next = node;
-                        break;
-                    }
-                }
-                current = current.next;
-            }
-            if (current == null) {
-                tail.next = node;
-                node.prev = tail;
-                tail = node;
-            }
-            numElements ++;
-        }
+        if (current == null)
+            linkLast(node);
+        else
+            linkAfter(node, current);
+
+        if (listener != null)
+            record(LinkedListListener.Operation.INSERT_AFTER, start, current != null);
     }
 
     /*
      * This method is similar to the insertAfter() method, but instead inserts a node before the specified data
-     * It first creates a new node with the data to be inserted
-     * 
-     * Then if the list is empty, it sets this new node to be the head and tail of the list
-     * Otherwise, it creates a current variable and sets it equal to the head
-     * It then iterates through the list until either current is null or the data to be inserted before is found
-     * If the data to be inserted before is found, it will either be the head of the list, or any other node of the list
-     * If it is the head, the new node is inserted before the head and the head is overriten to be the new node
-     * If the data to be inserted before is any other element in the list, the new node is inserted before it and the surrounding elements' links are changed
-     * accordingly
-     * If the data to be insesrted before is found the loop also breaks to ensure that it does not continure unnecessarily after the data has already been
-     * found
+     * It first creates a new node with the data to be inserted and uses findNode() to get the first node holding the data to be inserted before
      * 
-     * If the loop finishes and current is null, this means that the data to be inserted before is not in the the list and so in that case the new node
-     * is inserted to the end of the list as the new tail
+     * If that node is found, the new node is linked in right before it with linkBefore(), which also takes care of the case where that node is the head
+     * and the new node becomes the new head
      * 
-     * finally the number of elements is incremented by one
+     * If the data to be inserted before is not in the the list (or the list is empty), the new node is inserted to the end of the list as the new tail
      */
 
     public void insertBefore(T data, T beforeData) {
-        Node<T> node = new Node<>(data);
+        long start = startTiming();
+        Node<T> node = newNode(data);
+        Node<T> current = findNode(beforeData);
 
-        if (isEmpty()) {
-            head = node;
-            tail = node;
-        }
-        else {
-            Node<T> current = head;
-            while (current != null) {
-                if (current.data.equals(beforeData)) {
-                    if (current.prev == null) {
-                        current.prev = node;
-                        node.next = current;
-                        head = node;
-                        break;
-                    }
-                    else {
-                        node.next = current;
-                        node.prev = current.prev;
-                        current.prev.next = node;
-                        break;
-                    }
-                }
-                current = current.next;
-            }
-            if (current == null) {
-                tail.next = node;
-                node.prev = tail;
-                tail = node;
-            }
-            numElements ++;
-        }
+        if (current == null)
+            linkLast(node);
+        else
+            linkBefore(node, current);
+
+        if (listener != null)
+            record(LinkedListListener.Operation.INSERT_BEFORE, start, current != null);
     }
 
     /*
      * The delete() method takes in the data that the user wants to delete
      * 
-     * If the list is empty, it prints out a message that nothing can be removed from an empty list and returns
-     * 
-     * It sets a current variable equal to the head to start at the front of the list
-     * 
-     * It then iterates through the list while current is not null
-     * If the data we want to delete is found (current's data is equal to the data we passed through) then three situations can arise:
-     * The current node to be deleted is the head, the current node to be deleted is the tail, and the current node to be deleted is some interior node
-     * 
-     * If the current node is the head, then the node after the current node must become the new head since the current head is being deleted
-     * The node after current's previous link is set to null to unlink the current head node, the node after current is set to be the new head and the number of elements is decreased
-     * by one
-     * The loop is broken out of to prevent the method from deleting any other elements that might match the data we passed through
-     * 
-     * If the current node is the tail, then the node before it must become the new tail since it is being deleted
-     * The node before the current node's next is set to null, to unlink the current tail, the tail is set to the node before the current node, the number
-     * of elements is decreased by one, and finally the loop is broken to prevent any other nodes from being deleted
+     * If the list is empty there is nothing to remove, so it just tells the listener (if there is one) with emptyListRemoval() and returns
      * 
-     * Finally, if the node is an interior node, its surrounding nodes' links are changed accordinly to unlink this current node in between them (basically)
-     * the surrounding two nodes are linked to each other instead of the current node and finaly the number of elements is decreased and the loop is broken
+     * Otherwise it uses findNode() to get the first node holding the data (walking from the head, or straight from the index in indexed mode) and if
+     * there is one, unlink() removes it from the list
+     * Only the first matching node is removed, any other nodes that might match the data we passed through are left alone
      */
 
     @Override
     public void delete(T data) {
 
         if (numElements == 0) {
-            System.out.println("Cannot remove something from an empty list!");
+            if (listener != null)
+                listener.emptyListRemoval(LinkedListListener.Operation.DELETE);
             return;
         }
 
-        Node<T> current = head;
+        long start = startTiming();
+        Node<T> current = findNode(data);
 
-        while (current != null) {
-            if (current.data.equals(data)) {
-                if (current.prev == null) {
-                    current.next.prev = null;
-                    head = current.next;
-                    numElements --;
-                    break;
-                }
-                else if (current.next == null) {
-                    current.prev.next = null;
-                    tail = current.prev;
-                    numElements --;
-                    break;
-                }
-                else {
-                    current.prev.next = current.next;
-                    current.next.prev = current.prev;
-                    numElements --;
-                    break;
-                }
-            }
-            current = current.next;
-        }
+        if (current != null)
+            unlink(current);
+
+        if (listener != null)
+            record(LinkedListListener.Operation.DELETE, start, current != null);
     }
 
    /*
-     * The deleteAll() method is very similar to the delete() method so the original explanation is below:
-     * it takes in the data that the user wants to delete
-     * 
-     * If the list is already empty, the method prints out a message that nothing can be removed from an empty list and returns
-     * 
-     * It sets a current variable equal to the head to start at the front of the list
-     * 
-     * It then iterates through the list while current is not null
-     * If the data we want to delete is found (current's data is equal to the data we passed through) then three situations can arise:
-     * The current node to be deleted is the head, the current node to be deleted is the tail, and the current node to be deleted is some interior node
+     * The deleteAll() method is very similar to the delete() method, except it removes every node that matches the data instead of just the first one
      * 
-     * If the current node is the head, then the node after the current node must become the new head since the current head is being deleted
-     * The node after current's previous link is set to null to unlink the current head node, the node after current is set to be the new head and the number of elements is decreased
-     * by one
+     * If the list is already empty, the method tells the listener (if there is one) with emptyListRemoval() and returns
      * 
-     * If the current node is the tail, then the node before it must become the new tail since it is being deleted
-     * The node before the current node's next is set to null, to unlink the current tail, the tail is set to the node before the current node, the number
-     * of elements is decreased by one
+     * In indexed mode the index already knows every node holding the data, so the whole bucket is taken out of the index and each of its nodes is
+     * unlinked, without looking at any of the other nodes in the list
      * 
-     * Finally, if the node is an interior node, its surrounding nodes' links are changed accordinly to unlink this current node in between them (basically)
-     * the surrounding two nodes are linked to each other instead of the current node and finaly the number of elements is decreased 
-     * 
-     * The difference for this function is that the loop is not broken so it continues deleting every element that matches the data we passed through until
-     * it gets to the end of the list
+     * Otherwise it sets a current variable equal to the head to start at the front of the list and iterates through the list while current is not null
+     * The next node is saved before a matching node is unlinked so the loop can carry on from where it was, and the loop is not broken so it continues
+     * deleting every element that matches the data we passed through until it gets to the end of the list
      */
 
     public void deleteAll(T data) {
 
         if (numElements == 0) {
-            System.out.println("Cannot remove something from an empty list!");
+            if (listener != null)
+                listener.emptyListRemoval(LinkedListListener.Operation.DELETE_ALL);
             return;
         }
 
-        Node<T> current = head;
+        long start = startTiming();
+        int before = numElements;
 
-        while (current != null) {
-            if (current.data.equals(data)) {
-                if (current.prev == null) {
-                    current.next.prev = null;
-                    head = current.next;
-                    numElements --;
-                }
-                else if (current.next == null) {
-                    current.prev.next = null;
-                    tail = current.prev;
-                    numElements --;
-                }
-                else {
-                    current.prev.next = current.next;
-                    current.next.prev = current.prev;
-                    numElements --;
+        if (valueIndex != null) {
+            Bucket<T> bucket = valueIndex.remove(data);
+            if (bucket != null) {
+                IndexedNode<T> node = bucket.first;
+                while (node != null) {
+                    IndexedNode<T> next = node.sameNext;
+                    node.sameNext = null;
+                    node.samePrev = null;
+                    unlinkNode(node);
+                    node = next;
                 }
             }
-            current = current.next;
         }
+        else {
+            Node<T> current = head;
+
+            while (current != null) {
+                Node<T> next = current.next;
+                if (current.data.equals(data))
+                    unlink(current);
+                current = next;
+            }
+
+            if (listener != null)
+                traversed = before;
+        }
+
+        if (listener != null)
+            record(LinkedListListener.Operation.DELETE_ALL, start, numElements != before);
     }
 
     /*
      * This method takes in a specific index of the linked list
      * Although a linked list does not support indexing, you can say "find me the 5th element of this list and return it if it exists", this is pretty much
      * what this method does
-     * It takes in an integer as the 'index' and iterates through the list until that index (iterates through the list the many times)
+     * It takes in an integer as the 'index' and uses nodeAt() (further down) to get to the node at that index, which starts from whichever is closest
+     * out of the head, the tail and the node that was looked up last
      * 
-     * If the loop finishes and current is equal to null, there is no element at that index (there is no 5th element), and so null is returned, otherwise,
-     * if the current node is not null, its data is returned
+     * If there is no element at that index (the index is negative or there is no 5th element), null is returned, otherwise the node's data is returned
      */
 
     public T getDataAt(int index) {
-        Node<T> current = head;
+        long start = startTiming();
 
-        for (int i = 0; i < index; i ++) {
-            current = current.next;
+        if (index < 0 || index >= numElements) {
+            if (listener != null)
+                record(LinkedListListener.Operation.GET_DATA_AT, start, false);
+            return null;
         }
 
-        if (current == null)
-            return null;
+        T data = nodeAt(index).data;
 
-        return current.data;
+        if (listener != null)
+            record(LinkedListListener.Operation.GET_DATA_AT, start, true);
+
+        return data;
     }
 
     /*
-     * This method takes in data to be found
-     * it sets a variable current to be the head of the linked list and iterates through the list until current is null
-     * if the current node's data matches the data passed through the method that we are looking for, this current node's data is returned
+     * insertAt() inserts the data so that it ends up at the given index, moving the element that was at that index (and everything after it) back by one
+     * An index equal to the number of elements inserts the data to the end of the list
      * 
-     * Otherwise if the loop finishes and the data is not found, it returns null
+     * removeAt() removes the element at the given index and returns its data
+     * 
+     * Both use nodeAt() to get to the index, so inserting or removing at (or near) the index that was used last does not walk the list again
+     * An index outside of the list throws an IndexOutOfBoundsException
      */
 
-    @Override
-    public T search(T data) {
-        Node<T> current = head;
+    public void insertAt(int index, T data) {
+        if (index < 0 || index > numElements)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numElements);
 
-        while (current != null) {
-            if (current.data.equals(data)) {
-                return current.data;
-            }
-            current = current.next;
+        long start = startTiming();
+        Node<T> node = newNode(data);
+
+        if (index == numElements) {
+            linkLast(node);
+        }
+        else {
+            Node<T> current = nodeAt(index);
+            linkBefore(node, current);
+        }
+
+        cursorNode = node;
+        cursorIndex = index;
+
+        if (listener != null)
+            record(LinkedListListener.Operation.INSERT_AT, start, true);
+    }
+
+    public T removeAt(int index) {
+        if (index < 0 || index >= numElements)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numElements);
+
+        long start = startTiming();
+        Node<T> current = nodeAt(index);
+        Node<T> next = current.next;
+        T data = current.data;
+        unlink(current);
+
+        if (next != null) {
+            cursorNode = next;
+            cursorIndex = index;
         }
 
-        return null;
+        if (listener != null)
+            record(LinkedListListener.Operation.REMOVE_AT, start, true);
+
+        return data;
     }
 
     /*
-     * the isEmpty() method returns a boolean value representing whether or not the number of elements is equal to zero (you could achieve the same effect 
-     * by return a boolean represeenting whether the head is null or not)
+     * addAll() inserts every element of a collection (or anything else that can be iterated over) to the end of the list, in the same order
+     * addAllToFront() inserts them all to the front of the list, also keeping their order, so the first element of the collection becomes the new head
+     * 
+     * Instead of calling insertToTail() for every element, both build a chain of new nodes on their own first and then link the whole chain in at once,
+     * so the head / tail of the list is only changed one time
      */
 
-    @Override
-    public boolean isEmpty() {
-        return numElements == 0;
+    public void addAll(Iterable<? extends T> elements) {
+        long start = startTiming();
+        Node<T> first = null;
+        Node<T> last = null;
+        int count = 0;
+
+        for (T data : elements) {
+            Node<T> node = newNode(data);
+            if (first == null) {
+                first = node;
+            }
+            else {
+                last.next = node;
+                node.prev = last;
+            }
+            last = node;
+            count ++;
+        }
+
+        if (count > 0)
+            linkChainLast(first, last, count);
+
+        if (listener != null)
+            record(LinkedListListener.Operation.ADD_ALL, start, count > 0);
+    }
+
+    public void addAllToFront(Iterable<? extends T> elements) {
+        long start = startTiming();
+        Node<T> first = null;
+        Node<T> last = null;
+        int count = 0;
+
+        for (T data : elements) {
+            Node<T> node = newNode(data);
+            if (first == null) {
+                first = node;
+            }
+            else {
+                last.next = node;
+                node.prev = last;
+            }
+            last = node;
+            count ++;
+        }
+
+        if (count > 0)
+            linkChainFirst(first, last, count);
+
+        if (listener != null)
+            record(LinkedListListener.Operation.ADD_ALL_TO_FRONT, start, count > 0);
     }
 
     /*
-     * The toString() method returns [] size: 0 if the list is empty
-     * Otherwise it sets a variable of type Node<T> called current to be the head, and creates an empty string that will later be added to
-     * It then iterates through the list while current it not null and adds each elements data folowed by an arrow and spaces to the string
-     * 
-     * Finally it adds brackets in front, removes the last arrow and spaces from the string of list data, adds a closed bracket to the end, and adds the size
-     * which is represented by numElements
+     * removeIf() removes every element that the filter returns true for, in one pass through the list, and returns whether anything was removed
+     * removeAll() removes every element that is in the collection passed through and retainAll() removes every element that is not, both with a single
+     * call to removeIf(), so they only go through the list once however many values are being removed (they call contains() on the collection for every
+     * element, so passing a HashSet keeps that check O(1))
      */
 
-    @Override
-    public String toString() {
-        if (isEmpty())
-            return "[]\nSize: 0";
-        
+    public boolean removeIf(Predicate<? super T> filter) {
+        long start = startTiming();
+        int walked = numElements;
+        boolean removed = false;
         Node<T> current = head;
-        String string = "";
 
         while (current != null) {
-            string = string + current.data + " -> ";
-            current = current.next;
+            Node<T> next = current.next;
+            if (filter.test(current.data)) {
+                unlink(current);
+                removed = true;
+            }
+            current = next;
         }
 
-        return "[" + string.substring(0, string.length() - 4) + "]\nSize: " + numElements;
-        
+        if (listener != null) {
+            traversed = walked;
+            record(LinkedListListener.Operation.REMOVE_IF, start, removed);
+        }
+        return removed;
+    }
+
+    public boolean removeAll(Collection<?> elements) {
+        return removeIf(elements::contains);
+    }
+
+    public boolean retainAll(Collection<?> elements) {
+        return removeIf(data -> !elements.contains(data));
     }
 
     /*
-     * This method starts at the tail of the list and adds elements in reverse order with the arrow pointing the other way
+     * splice() moves every node of another linked list onto the end of this list and leaves the other list empty
+     * Nothing is copied: the other list's head is linked to this list's tail and this list's tail becomes the other list's tail, so it takes O(1) time
+     * no matter how long either list is (if this list is in indexed mode, the moved nodes still have to be added to its index one at a time)
+     * Only a list in the same mode can hand over its nodes, since an indexed list needs IndexedNodes, so splicing between an indexed and a plain list
+     * moves the elements into new nodes one at a time instead
      */
 
-    public String toStringReverse() {
-        if (isEmpty())
-            return "[]\nSize: 0";
-        
-        Node<T> current = tail;
-        String string = "";
+    public void splice(LinkedList<T> other) {
+        if (other == this)
+            throw new IllegalArgumentException("Cannot splice a list into itself");
 
-        while (current != null) {
-            string = string + current.data + " <- ";
-            current = current.prev;
+        long start = startTiming();
+        if (other.isEmpty()) {
+            if (listener != null)
+                record(LinkedListListener.Operation.SPLICE, start, false);
+            return;
+        }
+
+        Node<T> first = other.head;
+        Node<T> last = other.tail;
+        int count = other.numElements;
+
+        other.head = null;
+        other.tail = null;
+        other.numElements = 0;
+        other.cursorNode = null;
+        other.modCount ++;
+        if (other.valueIndex != null)
+            other.valueIndex.clear();
+
+        if ((valueIndex == null) == (other.valueIndex == null)) {
+            linkChainLast(first, last, count);
+        }
+        else {
+            for (Node<T> node = first; node != null; node = node.next)
+                linkLast(newNode(node.data));
         }
 
-        return "[" + string.substring(0, string.length() - 4) + "]\nSize: " + numElements;
+        if (listener != null)
+            record(LinkedListListener.Operation.SPLICE, start, true);
     }
 
     /*
-     * the print() method creates a string using the toString() method and then just prints out that string
+     * sort() sorts the list in place using the comparator (or the elements' natural ordering if the comparator is null)
+     * 
+     * It is a bottom-up merge sort done entirely by changing next links: pairs of nodes are merged into sorted runs of 2, pairs of those into runs of 4,
+     * and so on until there is only one run left (see mergeSort() below)
+     * No data is copied and nothing is allocated apart from a small array of runs, the sort is stable (elements that compare as equal keep their order), and it takes O(n log n) time
+     * Once the next links are in order, one more pass sets every prev link and the tail
+     * 
+     * parallelSort() does the same thing using several cores: the list is cut into runs (a few per core), the runs are sorted at the same time in a
+     * ForkJoinPool, and then neighbouring runs are merged together (also at the same time, as long as there are pairs left to merge)
+     * Lists shorter than PARALLEL_SORT_THRESHOLD are just sorted with sort(), since splitting them up costs more than it saves
      */
 
-    @Override
-    public void print() {
-        String string = toString();
-        System.out.println(string);
+    public void sort(Comparator<? super T> comparator) {
+        long start = startTiming();
+        if (numElements >= 2) {
+            head = mergeSort(head, comparatorOrNatural(comparator));
+            afterSort();
+        }
+
+        if (listener != null) {
+            traversed = numElements;
+            record(LinkedListListener.Operation.SORT, start, numElements >= 2);
+        }
     }
 
+    public void parallelSort(Comparator<? super T> comparator) {
+        if (numElements < PARALLEL_SORT_THRESHOLD) {
+            sort(comparator);
+            return;
+        }
+
+        long start = startTiming();
+        Comparator<? super T> order = comparatorOrNatural(comparator);
+        int runCount = Math.min(numElements / (PARALLEL_SORT_THRESHOLD / 4), ForkJoinPool.getCommonPoolParallelism() * 4);
+        int runLength = (numElements + runCount - 1) / runCount;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Node<T>[] runs = new Node[runCount];
+        Node<T> current = head;
+
+        for (int run = 0; run < runCount && current != null; run ++) {
+            runs[run] = current;
+            for (int i = 1; i < runLength && current.next != null; i ++)
+                current = current.next;
+            Node<T> next = current.next;
+            current.next = null;
+            current = next;
+        }
+
+        head = ForkJoinPool.commonPool().invoke(new SortTask<>(runs, 0, runCount, order));
+        afterSort();
+
+        if (listener != null) {
+            traversed = numElements;
+            record(LinkedListListener.Operation.SORT, start, true);
+        }
+    }
+
+    static final int PARALLEL_SORT_THRESHOLD = 1 << 14;
+
     /*
-     * This method uses the toStringReverse() method to create a reverse string of the linked list and prints out this string
+     * SortTask sorts the runs from lo up to hi and merges them into one sorted chain, splitting the range in half and sorting the first half in another
+     * task until it is down to a single run
      */
 
-    public void printReverse() {
-        String string = toStringReverse();
-        System.out.println(string);
+    static class SortTask<T> extends RecursiveTask<Node<T>> {
+
+        private static final long serialVersionUID = 1L;
+
+        final Node<T>[] runs;
+        final int lo;
+        final int hi;
+        final Comparator<? super T> comparator;
+
+        SortTask(Node<T>[] runs, int lo, int hi, Comparator<? super T> comparator) {
+            this.runs = runs;
+            this.lo = lo;
+            this.hi = hi;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected Node<T> compute() {
+            if (hi - lo == 1)
+                return mergeSort(runs[lo], comparator);
+
+            int mid = (lo + hi) >>> 1;
+            SortTask<T> left = new SortTask<>(runs, lo, mid, comparator);
+            left.fork();
+            Node<T> right = new SortTask<>(runs, mid, hi, comparator).compute();
+
+            return merge(left.join(), right, comparator);
+        }
+    }
+
+    /*
+     * mergeSort() sorts a null terminated chain of nodes by their next links and returns its new first node (the prev links are left as they are)
+     * 
+     * It takes the nodes off the front of the chain one at a time and keeps a set of sorted runs, where runs[i] is either empty or holds 2 ^ i nodes
+     * Each node starts as a run of 1 and is merged with runs[0], the result with runs[1], and so on until it reaches an empty slot (just like carrying
+     * when adding 1 to a binary number), and at the end all the runs are merged together
+     * Most merges are between small runs of nodes that were only just touched, which is much kinder to the CPU caches than going over the whole list
+     * once for every doubling of the run length
+     * runs[i] always holds older nodes than the runs before it, so it goes first in every merge and equal elements keep their order
+     */
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static <T> Node<T> mergeSort(Node<T> list, Comparator<? super T> comparator) {
+        Node<T>[] runs = new Node[32];
+        int used = 0;
+
+        while (list != null) {
+            Node<T> carry = list;
+            list = list.next;
+            carry.next = null;
+
+            int i = 0;
+            while (i < used && runs[i] != null) {
+                carry = merge(runs[i], carry, comparator);
+                runs[i] = null;
+                i ++;
+            }
+            if (i == used)
+                used ++;
+            runs[i] = carry;
+        }
+
+        Node<T> sorted = null;
+
+        for (int i = 0; i < used; i ++)
+            sorted = merge(runs[i], sorted, comparator);
+
+        return sorted;
+    }
+
+    /*
+     * merge() merges two sorted null terminated chains into one, taking from the first chain when two elements compare as equal so the result is stable
+     */
+
+    static <T> Node<T> merge(Node<T> a, Node<T> b, Comparator<? super T> comparator) {
+        Node<T> first = null;
+        Node<T> last = null;
+
+        while (a != null && b != null) {
+            Node<T> next;
+            if (comparator.compare(a.data, b.data) <= 0) {
+                next = a;
+                a = a.next;
+            }
+            else {
+                next = b;
+                b = b.next;
+            }
+
+            if (last == null)
+                first = next;
+            else
+                last.next = next;
+            last = next;
+        }
+
+        Node<T> rest = a != null ? a : b;
+        if (last == null)
+            return rest;
+
+        last.next = rest;
+        return first;
+    }
+
+    /*
+     * afterSort() sets every prev link and the tail from the sorted next links, and then updates everything else that depends on the order of the
+     * nodes: iterators are invalidated, the cursor is cleared, and in indexed mode each value's bucket is put back into list order
+     */
+
+    @SuppressWarnings("unchecked")
+    private void afterSort() {
+        Node<T> previous = null;
+
+        for (Node<T> current = head; current != null; current = current.next) {
+            current.prev = previous;
+            previous = current;
+        }
+
+        tail = previous;
+        cursorNode = null;
+        modCount ++;
+
+        if (valueIndex != null) {
+            valueIndex.clear();
+            for (Node<T> current = head; current != null; current = current.next)
+                indexAddLast((IndexedNode<T>) current);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<? super T> comparatorOrNatural(Comparator<? super T> comparator) {
+        if (comparator != null)
+            return comparator;
+
+        return (a, b) -> ((Comparable<? super T>) a).compareTo(b);
+    }
+
+    /*
+     * This method takes in data to be found
+     * it uses findNode() to get the first node holding that data and returns that node's data
+     * 
+     * Otherwise if the data is not found, it returns null
+     */
+
+    @Override
+    public T search(T data) {
+        long start = startTiming();
+        Node<T> current = findNode(data);
+
+        if (listener != null)
+            record(LinkedListListener.Operation.SEARCH, start, current != null);
+
+        if (current == null)
+            return null;
+
+        return current.data;
+    }
+
+    /*
+     * the isEmpty() method returns a boolean value representing whether or not the number of elements is equal to zero (you could achieve the same effect 
+     * by return a boolean represeenting whether the head is null or not)
+     */
+
+    @Override
+    public boolean isEmpty() {
+        return numElements == 0;
+    }
+
+    /*
+     * The toString() method returns [] size: 0 if the list is empty
+     * Otherwise it returns the data of every element from the head to the tail, separated by arrows and surrounded by brackets, followed by the size
+     * which is represented by numElements
+     * 
+     * The string is built by writeTo() (below) into a StringBuilder, so each element is only copied once and building the string takes time linear in
+     * the length of the list
+     * toString(maxElements) does the same thing but only writes out the first maxElements elements
+     */
+
+    @Override
+    public String toString() {
+        return toString(-1);
+    }
+
+    public String toString(int maxElements) {
+        StringBuilder string = new StringBuilder();
+
+        try {
+            writeTo(string, maxElements);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return string.toString();
+    }
+
+    /*
+     * This method starts at the tail of the list and adds elements in reverse order with the arrow pointing the other way
+     */
+
+    public String toStringReverse() {
+        return toStringReverse(-1);
+    }
+
+    public String toStringReverse(int maxElements) {
+        StringBuilder string = new StringBuilder();
+
+        try {
+            writeReverseTo(string, maxElements);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return string.toString();
+    }
+
+    /*
+     * writeTo() and writeReverseTo() write the same text as toString() and toStringReverse() straight into an Appendable (a StringBuilder, a Writer,
+     * System.out, ...) one element at a time, without ever building the whole string in memory
+     * 
+     * If maxElements is zero or more, only that many elements are written and the rest of the list is summed up as "... N more", for example
+     * [1 -> 2 -> 3 -> ... 97 more]
+     * Size: 100
+     * A negative maxElements writes out every element
+     */
+
+    public void writeTo(Appendable out) throws IOException {
+        writeTo(out, -1);
+    }
+
+    public void writeTo(Appendable out, int maxElements) throws IOException {
+        render(out, head, true, numElements, maxElements);
+    }
+
+    public void writeReverseTo(Appendable out) throws IOException {
+        writeReverseTo(out, -1);
+    }
+
+    public void writeReverseTo(Appendable out, int maxElements) throws IOException {
+        render(out, tail, false, numElements, maxElements);
+    }
+
+    /*
+     * render() does the writing for all of the methods above, walking forwards through next links from the head or backwards through prev links from
+     * the tail
+     */
+
+    static <T> void render(Appendable out, Node<T> start, boolean forward, int numElements, int maxElements) throws IOException {
+        String arrow = forward ? " -> " : " <- ";
+        int limit = maxElements < 0 ? numElements : Math.min(maxElements, numElements);
+        Node<T> current = start;
+
+        out.append('[');
+
+        for (int i = 0; i < limit; i ++) {
+            if (i > 0)
+                out.append(arrow);
+            out.append(String.valueOf(current.data));
+            current = forward ? current.next : current.prev;
+        }
+
+        if (limit < numElements) {
+            if (limit > 0)
+                out.append(arrow);
+            out.append("... ").append(String.valueOf(numElements - limit)).append(" more");
+        }
+
+        out.append("]\nSize: ").append(String.valueOf(numElements));
+    }
+
+    /*
+     * This version of render() writes the elements an iterator hands out instead of walking nodes, for the lists that do not keep their elements in a
+     * Node chain but still print the same way
+     */
+
+    static void render(Appendable out, Iterator<?> elements, boolean forward, int numElements, int maxElements) throws IOException {
+        String arrow = forward ? " -> " : " <- ";
+        int limit = maxElements < 0 ? numElements : Math.min(maxElements, numElements);
+
+        out.append('[');
+
+        for (int i = 0; i < limit; i ++) {
+            if (i > 0)
+                out.append(arrow);
+            out.append(String.valueOf(elements.next()));
+        }
+
+        if (limit < numElements) {
+            if (limit > 0)
+                out.append(arrow);
+            out.append("... ").append(String.valueOf(numElements - limit)).append(" more");
+        }
+
+        out.append("]\nSize: ").append(String.valueOf(numElements));
+    }
+
+    /*
+     * the print() method writes the list straight to System.out with writeTo(), through a buffer so that long lists are not written one tiny piece
+     * at a time, and then ends the line
+     * print(maxElements) only prints the first maxElements elements
+     */
+
+    @Override
+    public void print() {
+        print(-1);
+    }
+
+    public void print(int maxElements) {
+        try {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+            writeTo(out, maxElements);
+            out.append(System.lineSeparator());
+            out.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * This method does the same as print() but uses writeReverseTo() to print the list in reverse order
+     */
+
+    public void printReverse() {
+        printReverse(-1);
+    }
+
+    public void printReverse(int maxElements) {
+        try {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+            writeReverseTo(out, maxElements);
+            out.append(System.lineSeparator());
+            out.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * iterator() returns an iterator that goes through the list from the head to the tail, and descendingIterator() returns one that goes from the tail
+     * to the head
+     * Both follow the next / prev links directly, so going through the whole list is linear (instead of calling getDataAt() for every index), and both
+     * can remove the element they just returned in O(1) through remove()
+     * 
+     * If the list is changed by anything other than the iterator's own remove() while it is being used, the next call to the iterator throws a
+     * ConcurrentModificationException
+     */
+
+    @Override
+    public Iterator<T> iterator() {
+        return new NodeIterator(true);
+    }
+
+    public Iterator<T> descendingIterator() {
+        return new NodeIterator(false);
+    }
+
+    /*
+     * forEach() walks the list directly without creating an iterator, and checks for changes to the list once it is done
+     */
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+
+        for (Node<T> current = head; current != null && modCount == expectedModCount; current = current.next)
+            action.accept(current.data);
+
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /*
+     * spliterator() returns a Spliterator over the list, which is what stream() and parallelStream() are built on
+     * 
+     * The spliterator knows exactly how many elements it covers, and so does every piece it is split into, so it reports ORDERED, SIZED and SUBSIZED
+     * It splits by walking halfway through the nodes it covers and handing the first half off to a new spliterator, which lets a parallel stream spread
+     * the list over several cores without copying the elements out into an array first
+     * It only looks at the list (the head, the number of elements and modCount) when it is first used, so the list can still be changed between
+     * creating a stream and running it
+     */
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator(null, -1, 0);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /*
+     * pipeline() returns a lazy ListPipeline over the list, whose map / filter / limit / skip / takeWhile steps all run in one pass over the nodes once
+     * a terminal operation like reduce() or findFirst() is called
+     */
+
+    public ListPipeline<T> pipeline() {
+        return new ListPipeline<>(this);
+    }
+
+    /*
+     * NodeIterator keeps the next node it will return and the node it returned last (which is the one remove() unlinks)
+     * Going forwards it follows next links, going backwards it follows prev links
+     */
+
+    private class NodeIterator implements Iterator<T> {
+
+        final boolean forward;
+        Node<T> next;
+        Node<T> lastReturned;
+        int expectedModCount = modCount;
+
+        NodeIterator(boolean forward) {
+            this.forward = forward;
+            next = forward ? head : tail;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (next == null)
+                throw new NoSuchElementException();
+
+            lastReturned = next;
+            next = forward ? next.next : next.prev;
+            return lastReturned.data;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    /*
+     * NodeSpliterator covers remaining nodes starting from current
+     * A remaining of -1 means it has not been used yet, in which case bind() points it at the whole list
+     */
+
+    private class NodeSpliterator implements Spliterator<T> {
+
+        Node<T> current;
+        int remaining;
+        int expectedModCount;
+
+        NodeSpliterator(Node<T> current, int remaining, int expectedModCount) {
+            this.current = current;
+            this.remaining = remaining;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private void bind() {
+            if (remaining < 0) {
+                current = head;
+                remaining = numElements;
+                expectedModCount = modCount;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            bind();
+
+            if (remaining == 0)
+                return false;
+
+            T data = current.data;
+            current = current.next;
+            remaining --;
+            action.accept(data);
+
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            bind();
+
+            Node<T> node = current;
+            int count = remaining;
+            current = null;
+            remaining = 0;
+
+            for (; count > 0 && node != null; count --) {
+                T data = node.data;
+                node = node.next;
+                action.accept(data);
+
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            bind();
+
+            if (remaining < 2)
+                return null;
+
+            int half = remaining / 2;
+            Node<T> start = current;
+
+            for (int i = 0; i < half; i ++)
+                current = current.next;
+            remaining -= half;
+
+            return new NodeSpliterator(start, half, expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            bind();
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /*
+     * The methods below are the helpers that every public method above uses to find and link / unlink nodes, so the pointer juggling (and keeping the
+     * index up to date in indexed mode) only lives in one place
+     * 
+     * findNode() returns the first node holding the data passed through, or null if there is none
+     * In indexed mode this is just the first node in that value's bucket, otherwise it walks the list from the head calling equals() on every node
+     */
+
+    Node<T> findNode(T data) {
+        if (valueIndex != null) {
+            Bucket<T> bucket = valueIndex.get(data);
+            if (bucket == null)
+                return null;
+            if (!bucket.ordered)
+                reorder(bucket);
+            return bucket.first;
+        }
+
+        Node<T> current = head;
+        int visited = 0;
+
+        while (current != null) {
+            visited ++;
+            if (current.data.equals(data))
+                break;
+            current = current.next;
+        }
+
+        if (listener != null)
+            traversed = visited;
+        return current;
+    }
+
+    /*
+     * startTiming() and record() are what the instrumented operations (and LinkedListCodec.readInto()) use to report to the listener
+     * startTiming() returns the time the operation started (and resets traversed), or 0 without reading the clock if there is no listener
+     * record() passes the operation, how long it took since start, how many nodes it walked and whether it was a hit on to the listener
+     */
+
+    long startTiming() {
+        if (listener == null)
+            return 0;
+
+        traversed = 0;
+        return System.nanoTime();
+    }
+
+    void record(LinkedListListener.Operation operation, long start, boolean hit) {
+        listener.operationCompleted(operation, System.nanoTime() - start, traversed, hit);
+    }
+
+    /*
+     * nodeAt() returns the node at an index that is known to be inside the list, and moves the cursor to it
+     * It works out how far the index is from the head, from the tail and from the cursor, and walks from whichever of those is closest, forwards through
+     * next links or backwards through prev links
+     */
+
+    Node<T> nodeAt(int index) {
+        Node<T> current = head;
+        int position = 0;
+        int distance = index;
+
+        if (numElements - 1 - index < distance) {
+            current = tail;
+            position = numElements - 1;
+            distance = position - index;
+        }
+        if (cursorNode != null && Math.abs(index - cursorIndex) < distance) {
+            current = cursorNode;
+            position = cursorIndex;
+        }
+
+        if (listener != null)
+            traversed = Math.abs(index - position);
+
+        while (position < index) {
+            current = current.next;
+            position ++;
+        }
+        while (position > index) {
+            current = current.prev;
+            position --;
+        }
+
+        cursorNode = current;
+        cursorIndex = index;
+        return current;
+    }
+
+    /*
+     * newNode() creates the node for a new element (an IndexedNode in indexed mode), taking one from the node pool if there is one there
+     */
+
+    Node<T> newNode(T data) {
+        Node<T> node = pool;
+
+        if (node == null)
+            return valueIndex == null ? new Node<>(data) : new IndexedNode<>(data);
+
+        pool = node.next;
+        poolSize --;
+        node.next = null;
+        node.data = data;
+        return node;
+    }
+
+    /*
+     * linkFirst() and linkLast() link a node in as the new head or the new tail (or as both if the list is empty), increment the number of elements
+     * and add the node to the index
+     * 
+     * All of the link and unlink helpers also keep the cursor right: a new head moves every other node back by one, so the cursor's index goes up by one,
+     * while a change in the middle of the list that the cursor cannot account for just clears the cursor
+     */
+
+    void linkFirst(Node<T> node) {
+        if (isEmpty()) {
+            head = node;
+            tail = node;
+        }
+        else {
+            node.next = head;
+            node.prev = null;
+            head.prev = node;
+            head = node;
+        }
+
+        numElements ++;
+        modCount ++;
+        if (valueIndex != null)
+            indexAdd(node);
+        if (cursorNode != null)
+            cursorIndex ++;
+    }
+
+    void linkLast(Node<T> node) {
+        if (isEmpty()) {
+            head = node;
+            tail = node;
+        }
+        else {
+            node.next = null;
+            node.prev = tail;
+            tail.next = node;
+            tail = node;
+        }
+
+        numElements ++;
+        modCount ++;
+        if (valueIndex != null)
+            indexAdd(node);
+    }
+
+    /*
+     * linkChainLast() and linkChainFirst() link an already linked together chain of count nodes (from first to last) onto the end or the front of the list
+     * in one go
+     * In indexed mode every node of the chain goes onto the end (or the front) of its bucket, since the whole chain comes after (or before) every node
+     * that was already in the list
+     */
+
+    @SuppressWarnings("unchecked")
+    void linkChainLast(Node<T> first, Node<T> last, int count) {
+        first.prev = tail;
+        last.next = null;
+
+        if (isEmpty())
+            head = first;
+        else
+            tail.next = first;
+        tail = last;
+
+        numElements += count;
+        modCount ++;
+
+        if (valueIndex != null) {
+            for (Node<T> node = first; node != null; node = node.next)
+                indexAddLast((IndexedNode<T>) node);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void linkChainFirst(Node<T> first, Node<T> last, int count) {
+        first.prev = null;
+        last.next = head;
+
+        if (isEmpty())
+            tail = last;
+        else
+            head.prev = last;
+        head = first;
+
+        numElements += count;
+        modCount ++;
+        if (cursorNode != null)
+            cursorIndex += count;
+
+        if (valueIndex != null) {
+            for (Node<T> node = last; node != null; node = node.prev)
+                indexAddFirst((IndexedNode<T>) node);
+        }
+    }
+
+    /*
+     * linkAfter() links a node in right after current
+     * If current is the tail, the node just becomes the new tail, otherwise the node is linked to both current and the node after current, and both of
+     * those are linked back to the new node
+     */
+
+    void linkAfter(Node<T> node, Node<T> current) {
+        if (current.next == null) {
+            linkLast(node);
+            return;
+        }
+
+        node.prev = current;
+        node.next = current.next;
+        current.next.prev = node;
+        current.next = node;
+
+        numElements ++;
+        modCount ++;
+        if (valueIndex != null)
+            indexAdd(node);
+        if (current != cursorNode)
+            cursorNode = null;
+    }
+
+    /*
+     * linkBefore() is the same as linkAfter() but links the node in right before current, making it the new head if current is the head
+     */
+
+    void linkBefore(Node<T> node, Node<T> current) {
+        if (current.prev == null) {
+            linkFirst(node);
+            return;
+        }
+
+        node.next = current;
+        node.prev = current.prev;
+        current.prev.next = node;
+        current.prev = node;
+
+        numElements ++;
+        modCount ++;
+        if (valueIndex != null)
+            indexAdd(node);
+        if (current == cursorNode)
+            cursorIndex ++;
+        else
+            cursorNode = null;
+    }
+
+    /*
+     * unlink() removes a node from the list and from the index
+     * unlinkNode() does the linking part on its own, it is used directly by deleteAll() when the node's bucket has already been taken out of the index
+     * 
+     * If the node is the head, the node after it becomes the new head and if it is the tail, the node before it becomes the new tail (if it is both, the
+     * list is now empty and both become null)
+     * Otherwise its surrounding nodes are linked to each other instead of to the node
+     * 
+     * Once it is out of the list, the node's data and links are cleared so it does not keep the data or its old neighbours from being garbage collected,
+     * and it goes into the node pool if recycling is on and the pool is not full
+     * 
+     * detach() only takes the node out of the chain and clears its links, keeping its data, so the node can be linked into this or another list again
+     * straight away (LinkedCache uses this to move entries around), it does not touch the index so it is only meant for lists that are not indexed
+     */
+
+    void unlink(Node<T> node) {
+        if (valueIndex != null)
+            indexRemove(node);
+        unlinkNode(node);
+    }
+
+    void unlinkNode(Node<T> node) {
+        detach(node);
+        node.data = null;
+
+        if (poolSize < poolCapacity) {
+            node.next = pool;
+            pool = node;
+            poolSize ++;
+        }
+    }
+
+    void detach(Node<T> node) {
+        if (node == cursorNode)
+            cursorNode = null;
+        else if (node.prev == null)
+            cursorIndex --;
+        else if (node.next != null)
+            cursorNode = null;
+
+        if (node.prev == null)
+            head = node.next;
+        else
+            node.prev.next = node.next;
+
+        if (node.next == null)
+            tail = node.prev;
+        else
+            node.next.prev = node.prev;
+
+        numElements --;
+        modCount ++;
+
+        node.next = null;
+        node.prev = null;
+    }
+
+    /*
+     * indexAdd() puts a node that has just been linked into its value's bucket, keeping the bucket in list order where it can do that in O(1)
+     * 
+     * A new value gets a bucket of its own, and a new head or tail goes at the front or the back of its bucket
+     * A node linked in the middle goes right after the node before it or right before the node after it if either of those holds an equal value, and
+     * otherwise at the back of its bucket, which is then marked as out of order (see the comment on valueIndex)
+     */
+
+    @SuppressWarnings("unchecked")
+    private void indexAdd(Node<T> plain) {
+        IndexedNode<T> node = (IndexedNode<T>) plain;
+
+        if (node.next == null) {
+            indexAddLast(node);
+        }
+        else if (node.prev == null) {
+            indexAddFirst(node);
+        }
+        else if (node.prev.data.equals(node.data)) {
+            IndexedNode<T> before = (IndexedNode<T>) node.prev;
+            node.samePrev = before;
+            node.sameNext = before.sameNext;
+            if (before.sameNext == null)
+                valueIndex.get(node.data).last = node;
+            else
+                before.sameNext.samePrev = node;
+            before.sameNext = node;
+        }
+        else if (node.next.data.equals(node.data)) {
+            IndexedNode<T> after = (IndexedNode<T>) node.next;
+            node.sameNext = after;
+            node.samePrev = after.samePrev;
+            if (after.samePrev == null)
+                valueIndex.get(node.data).first = node;
+            else
+                after.samePrev.sameNext = node;
+            after.samePrev = node;
+        }
+        else {
+            indexAddLast(node);
+            valueIndex.get(node.data).ordered = false;
+        }
+    }
+
+    private void indexAddLast(IndexedNode<T> node) {
+        Bucket<T> bucket = valueIndex.computeIfAbsent(node.data, data -> new Bucket<>());
+
+        node.sameNext = null;
+        node.samePrev = bucket.last;
+        if (bucket.last == null)
+            bucket.first = node;
+        else
+            bucket.last.sameNext = node;
+        bucket.last = node;
+    }
+
+    private void indexAddFirst(IndexedNode<T> node) {
+        Bucket<T> bucket = valueIndex.computeIfAbsent(node.data, data -> new Bucket<>());
+
+        node.samePrev = null;
+        node.sameNext = bucket.first;
+        if (bucket.first == null)
+            bucket.last = node;
+        else
+            bucket.first.samePrev = node;
+        bucket.first = node;
+    }
+
+    /*
+     * reorder() puts an out of order bucket back in list order by walking the list and chaining the bucket's nodes again in the order they are reached
+     */
+
+    @SuppressWarnings("unchecked")
+    private void reorder(Bucket<T> bucket) {
+        T data = bucket.first.data;
+        IndexedNode<T> previous = null;
+
+        for (Node<T> current = head; current != null; current = current.next) {
+            if (!current.data.equals(data))
+                continue;
+
+            IndexedNode<T> node = (IndexedNode<T>) current;
+            node.samePrev = previous;
+            if (previous == null)
+                bucket.first = node;
+            else
+                previous.sameNext = node;
+            previous = node;
+        }
+
+        previous.sameNext = null;
+        bucket.last = previous;
+        bucket.ordered = true;
+    }
+
+    /*
+     * indexRemove() takes a node out of its value's bucket by linking its neighbours in the bucket to each other, and removes the bucket entirely once it
+     * has no nodes left
+     * The map is only looked at when the node is the first or last node of its bucket
+     */
+
+    @SuppressWarnings("unchecked")
+    private void indexRemove(Node<T> plain) {
+        IndexedNode<T> node = (IndexedNode<T>) plain;
+
+        if (node.samePrev == null && node.sameNext == null) {
+            valueIndex.remove(node.data);
+            return;
+        }
+
+        if (node.samePrev == null)
+            valueIndex.get(node.data).first = node.sameNext;
+        else
+            node.samePrev.sameNext = node.sameNext;
+
+        if (node.sameNext == null)
+            valueIndex.get(node.data).last = node.samePrev;
+        else
+            node.sameNext.samePrev = node.samePrev;
+
+        node.sameNext = null;
+        node.samePrev = null;
     }
 }
\ No newline at end of file
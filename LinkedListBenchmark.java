@@ -0,0 +1,178 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+ * LinkedListBenchmark measures how much heap each kind of list takes per element, which is the one thing the JMH benchmarks in the jmh directory do not
+ * measure (they time the operations, with proper warmup, forks and statistics, and are where timings should come from)
+ *
+ * It builds each kind of list out of values that were boxed beforehand and reports how many bytes of heap each element adds (the heap that is still in
+ * use after a garbage collection, before and after building the list), so only the list's own structure is counted
+ *
+ * Every implementation is measured in a JVM of its own, started by main() with the same JVM options and class path, so the heap left behind by one
+ * implementation (and the classes it loaded) cannot end up in the readings of the next one
+ * Passing an implementation (one of the names in the table, or "all" to run every one of them in this JVM) as the second argument runs just that
+ *
+ * Usage: java Java.libraries.DATA_STRUCTURES.linkedList.LinkedListBenchmark [sizes] [implementation|all]
+ * e.g.   java Java.libraries.DATA_STRUCTURES.linkedList.LinkedListBenchmark 1000,100000,10000000
+ * Running with 10M elements needs a few GB of heap (-Xmx8g), which is passed on to every forked JVM
+ */
+
+public class LinkedListBenchmark {
+
+    static final int[] DEFAULT_SIZES = { 1_000, 10_000, 100_000 };
+    static final String[] IMPLEMENTATIONS = { "LinkedList", "CompactLinkedList", "CompactLinkedList (trimmed)", "java.util.LinkedList", "IntLinkedList" };
+
+    static volatile Object sink;
+    static String only;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String sizes = args.length > 0 ? args[0] : joinSizes(DEFAULT_SIZES);
+
+        if (args.length > 1) {
+            only = args[1].equals("all") ? null : args[1];
+            if (only == null)
+                printHeader();
+            run(parseSizes(sizes));
+            return;
+        }
+
+        printHeader();
+        for (String implementation : IMPLEMENTATIONS)
+            fork(sizes, implementation);
+    }
+
+    static void printHeader() {
+        System.out.printf("%-28s %10s %14s%n", "implementation", "size", "bytes/element");
+    }
+
+    /*
+     * fork() runs one implementation in a new JVM (with the same JVM options and class path as this one) and waits for it to finish, with its output
+     * going straight to this one's
+     */
+
+    static void fork(String sizes, String implementation) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LinkedListBenchmark.class.getName());
+        command.add(sizes);
+        command.add(implementation);
+
+        int status = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (status != 0)
+            throw new IllegalStateException("The " + implementation + " run failed with exit status " + status);
+    }
+
+    /*
+     * selected() is whether this JVM is measuring an implementation, which measureFootprint() checks first
+     */
+
+    static boolean selected(String implementation) {
+        return only == null || only.equals(implementation);
+    }
+
+    /*
+     * run() measures the selected implementation (or all of them if none was selected) at every size, in this JVM
+     */
+
+    static void run(int[] sizes) {
+        for (int size : sizes) {
+            Integer[] values = new Integer[size];
+            for (int i = 0; i < size; i ++)
+                values[i] = i;
+
+            measureFootprint("LinkedList", values, () -> {
+                LinkedList<Integer> list = new LinkedList<>();
+                for (Integer value : values)
+                    list.insertToTail(value);
+                return list;
+            });
+            measureFootprint("CompactLinkedList", values, () -> {
+                CompactLinkedList<Integer> list = new CompactLinkedList<>();
+                for (Integer value : values)
+                    list.insertToTail(value);
+                return list;
+            });
+            measureFootprint("CompactLinkedList (trimmed)", values, () -> {
+                CompactLinkedList<Integer> list = new CompactLinkedList<>();
+                for (Integer value : values)
+                    list.insertToTail(value);
+                list.trimToSize();
+                return list;
+            });
+            measureFootprint("java.util.LinkedList", values, () -> {
+                java.util.LinkedList<Integer> list = new java.util.LinkedList<>();
+                for (Integer value : values)
+                    list.addLast(value);
+                return list;
+            });
+            measureFootprint("IntLinkedList", values, () -> {
+                IntLinkedList list = new IntLinkedList();
+                for (int i = 0; i < values.length; i ++)
+                    list.insertToTail(i);
+                return list;
+            });
+        }
+    }
+
+    /*
+     * measureFootprint() reads how much heap is in use after a garbage collection, builds the list (keeping it reachable), reads it again, and divides the
+     * difference by the number of elements
+     * The values array is passed in only to keep the boxed values reachable the whole time, so they are counted in both readings and not in the list
+     */
+
+    static void measureFootprint(String implementation, Integer[] values, Supplier<Object> build) {
+        if (!selected(implementation))
+            return;
+
+        long before = usedHeap();
+        Object list = build.get();
+        long after = usedHeap();
+
+        sink = list;
+        sink = values;
+        System.out.printf("%-28s %10d %14.1f%n", implementation, values.length, (double) (after - before) / values.length);
+    }
+
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+
+        for (int i = 0; i < 5; i ++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+
+        return used;
+    }
+
+    static String joinSizes(int[] sizes) {
+        StringBuilder joined = new StringBuilder();
+
+        for (int size : sizes) {
+            if (joined.length() > 0)
+                joined.append(',');
+            joined.append(size);
+        }
+
+        return joined.toString();
+    }
+
+    static int[] parseSizes(String sizes) {
+        String[] parts = sizes.split(",");
+        int[] parsed = new int[parts.length];
+
+        for (int i = 0; i < parts.length; i ++)
+            parsed[i] = Integer.parseInt(parts[i].trim());
+
+        return parsed;
+    }
+}
\ No newline at end of file
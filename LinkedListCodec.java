@@ -0,0 +1,415 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/*
+ * LinkedListCodec writes a LinkedList out in a compact binary format and reads it back in, so a list can be sent to another program or saved to a file
+ * without going through toString() (which has to be parsed back, turns every element into text, and cannot tell "1" the String from 1 the Integer)
+ *
+ * The format is a 20 byte header followed by one record per element, from the head to the tail:
+ *
+ *   header:  magic (4 bytes)  version (4 bytes)  element length (4 bytes)  number of elements (8 bytes)
+ *   record:  length (4 bytes, only if the element length is -1)  the element's bytes
+ *
+ * The elements are turned into bytes by an ElementSerializer (the same ones MappedLinkedList uses)
+ * If the serializer says every element takes the same number of bytes (like ElementSerializer.INTEGER), that number goes in the header and the records
+ * are just the elements' bytes back to back, otherwise the header says -1 and every record starts with its own length
+ *
+ * Writing walks the list once from the head to the tail, putting each element straight into a buffer that is written to the channel whenever it fills
+ * up, and reading fills a buffer from the channel and links each element onto the tail as soon as it has been read, so neither one ever builds the whole
+ * list as a String or an array in between
+ * A file written from a LinkedList<Integer> with ElementSerializer.INTEGER can be read into an IntLinkedList with readInts() and the other way around
+ * (and the same for longs), and the primitive lists are read in bulk straight into their arrays
+ */
+
+public class LinkedListCodec<T> {
+
+    static final int MAGIC = 0x4C4C4249;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 20;
+    static final int BUFFER_SIZE = 1 << 16;
+    static final int MAX_INITIAL_CAPACITY = 8192;
+
+    final ElementSerializer<T> serializer;
+
+    public LinkedListCodec(ElementSerializer<T> serializer) {
+        this.serializer = serializer;
+    }
+
+    /*
+     * sizeOf() returns how many bytes the list takes in the binary format, which is how big a buffer write(list, buffer) needs
+     */
+
+    public long sizeOf(LinkedList<T> list) {
+        int fixedLength = serializer.fixedLength();
+
+        if (fixedLength >= 0)
+            return HEADER_SIZE + (long) fixedLength * list.numElements;
+
+        long size = HEADER_SIZE;
+        for (Node<T> node = list.head; node != null; node = node.next)
+            size += Integer.BYTES + serializer.sizeOf(node.data);
+
+        return size;
+    }
+
+    /*
+     * write() writes the whole list into a buffer (starting at its position), throwing a BufferOverflowException if it does not fit, or to a channel
+     * (like a FileChannel or a SocketChannel), or to a file, which is created or overwritten
+     */
+
+    public void write(LinkedList<T> list, ByteBuffer buffer) {
+        writeHeader(buffer, serializer.fixedLength(), list.numElements);
+
+        for (Node<T> node = list.head; node != null; node = node.next)
+            writeRecord(node.data, recordLength(node.data), buffer);
+    }
+
+    public void write(LinkedList<T> list, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        writeHeader(buffer, serializer.fixedLength(), list.numElements);
+
+        for (Node<T> node = list.head; node != null; node = node.next) {
+            int length = recordLength(node.data);
+            int needed = serializer.fixedLength() >= 0 ? length : Integer.BYTES + length;
+
+            if (buffer.remaining() < needed) {
+                flush(buffer, channel);
+                if (buffer.capacity() < needed)
+                    buffer = ByteBuffer.allocateDirect(needed);
+            }
+
+            writeRecord(node.data, length, buffer);
+        }
+
+        flush(buffer, channel);
+    }
+
+    public void write(LinkedList<T> list, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(list, channel);
+        }
+    }
+
+    /*
+     * read() reads a list back from a buffer (starting at its position, and leaving the position right after the list), from a channel or from a file
+     * readInto() does the same but links the elements onto the end of a list that already exists (for example an indexed one), and if that list has a
+     * listener, tells it about the whole read as one READ operation
+     * A header that does not match this format or this codec's serializer, or data that ends too soon, throws an IOException
+     */
+
+    public LinkedList<T> read(ByteBuffer buffer) throws IOException {
+        LinkedList<T> list = new LinkedList<>();
+        readInto(list, buffer);
+        return list;
+    }
+
+    public LinkedList<T> read(ReadableByteChannel channel) throws IOException {
+        LinkedList<T> list = new LinkedList<>();
+        readInto(list, channel);
+        return list;
+    }
+
+    public LinkedList<T> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    public void readInto(LinkedList<T> list, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE)
+            throw new EOFException("Missing linked list header");
+
+        long start = list.startTiming();
+        long count = readHeader(buffer, serializer.fixedLength());
+
+        for (long i = 0; i < count; i ++) {
+            int length = serializer.fixedLength();
+
+            if (length < 0) {
+                if (buffer.remaining() < Integer.BYTES)
+                    throw new EOFException("Linked list ended after " + i + " of " + count + " elements");
+                length = readLength(buffer);
+            }
+            if (buffer.remaining() < length)
+                throw new EOFException("Linked list ended after " + i + " of " + count + " elements");
+
+            list.linkLast(list.newNode(readRecord(buffer, length)));
+        }
+
+        if (list.listener != null)
+            list.record(LinkedListListener.Operation.READ, start, count > 0);
+    }
+
+    public void readInto(LinkedList<T> list, ReadableByteChannel channel) throws IOException {
+        long start = list.startTiming();
+        ByteBuffer buffer = fill(channel, ByteBuffer.allocateDirect(BUFFER_SIZE).flip(), HEADER_SIZE);
+        long count = readHeader(buffer, serializer.fixedLength());
+
+        for (long i = 0; i < count; i ++) {
+            int length = serializer.fixedLength();
+
+            if (length < 0) {
+                buffer = fill(channel, buffer, Integer.BYTES);
+                length = readLength(buffer);
+            }
+
+            buffer = fill(channel, buffer, length);
+            list.linkLast(list.newNode(readRecord(buffer, length)));
+        }
+
+        if (list.listener != null)
+            list.record(LinkedListListener.Operation.READ, start, count > 0);
+    }
+
+    /*
+     * The primitive fast path for IntLinkedList and LongLinkedList, which uses the same format as ElementSerializer.INTEGER and ElementSerializer.LONG
+     *
+     * Writing walks the list through its next array and puts each value straight into the buffer
+     * Reading copies the values in bulk from the buffer into the values array, and then links slot i to slot i + 1 for every slot, without going through
+     * insertToTail() at all
+     * The count in the header cannot be trusted (a corrupt or hostile stream can claim billions of elements and then end), so the list starts with room
+     * for at most MAX_INITIAL_CAPACITY elements and its values array doubles as the values actually arrive, so a short stream ends in an EOFException
+     * instead of an OutOfMemoryError, and the link arrays are only grown to match once every value has been read
+     */
+
+    public static void writeInts(IntLinkedList list, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        writeHeader(buffer, Integer.BYTES, list.numElements);
+
+        for (int node = list.head; node != IntLinkedList.NIL; node = list.next[node]) {
+            if (buffer.remaining() < Integer.BYTES)
+                flush(buffer, channel);
+            buffer.putInt(list.values[node]);
+        }
+
+        flush(buffer, channel);
+    }
+
+    public static IntLinkedList readInts(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = fill(channel, ByteBuffer.allocateDirect(BUFFER_SIZE).flip(), HEADER_SIZE);
+        int count = checkCount(readHeader(buffer, Integer.BYTES));
+        IntLinkedList list = new IntLinkedList(initialCapacity(count));
+
+        for (int filled = 0; filled < count; ) {
+            buffer = fill(channel, buffer, Integer.BYTES);
+            IntBuffer ints = buffer.asIntBuffer();
+            int n = Math.min(ints.remaining(), count - filled);
+            if (filled + n > list.values.length)
+                list.values = Arrays.copyOf(list.values, grownCapacity(list.values.length, filled + n, count));
+            ints.get(list.values, filled, n);
+            buffer.position(buffer.position() + n * Integer.BYTES);
+            filled += n;
+        }
+
+        if (list.next.length != list.values.length) {
+            list.next = new int[list.values.length];
+            list.prev = new int[list.values.length];
+        }
+        linkInOrder(list.next, list.prev, count);
+        if (count > 0) {
+            list.head = 0;
+            list.tail = count - 1;
+        }
+        list.used = count;
+        list.numElements = count;
+
+        return list;
+    }
+
+    public static void writeLongs(LongLinkedList list, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        writeHeader(buffer, Long.BYTES, list.numElements);
+
+        for (int node = list.head; node != LongLinkedList.NIL; node = list.next[node]) {
+            if (buffer.remaining() < Long.BYTES)
+                flush(buffer, channel);
+            buffer.putLong(list.values[node]);
+        }
+
+        flush(buffer, channel);
+    }
+
+    public static LongLinkedList readLongs(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = fill(channel, ByteBuffer.allocateDirect(BUFFER_SIZE).flip(), HEADER_SIZE);
+        int count = checkCount(readHeader(buffer, Long.BYTES));
+        LongLinkedList list = new LongLinkedList(initialCapacity(count));
+
+        for (int filled = 0; filled < count; ) {
+            buffer = fill(channel, buffer, Long.BYTES);
+            LongBuffer longs = buffer.asLongBuffer();
+            int n = Math.min(longs.remaining(), count - filled);
+            if (filled + n > list.values.length)
+                list.values = Arrays.copyOf(list.values, grownCapacity(list.values.length, filled + n, count));
+            longs.get(list.values, filled, n);
+            buffer.position(buffer.position() + n * Long.BYTES);
+            filled += n;
+        }
+
+        if (list.next.length != list.values.length) {
+            list.next = new int[list.values.length];
+            list.prev = new int[list.values.length];
+        }
+        linkInOrder(list.next, list.prev, count);
+        if (count > 0) {
+            list.head = 0;
+            list.tail = count - 1;
+        }
+        list.used = count;
+        list.numElements = count;
+
+        return list;
+    }
+
+    /*
+     * recordLength() asks the serializer how many bytes an element takes, and writeRecord() writes its length (if the lengths are not fixed) and then
+     * the element, checking that the serializer wrote exactly as many bytes as it said it would (since otherwise every record after it would be read
+     * from the wrong place)
+     */
+
+    private int recordLength(T data) {
+        int fixedLength = serializer.fixedLength();
+        return fixedLength >= 0 ? fixedLength : serializer.sizeOf(data);
+    }
+
+    private void writeRecord(T data, int length, ByteBuffer buffer) {
+        if (serializer.fixedLength() < 0)
+            buffer.putInt(length);
+
+        int start = buffer.position();
+        serializer.write(data, buffer);
+
+        if (buffer.position() - start != length)
+            throw new IllegalStateException("Serializer wrote " + (buffer.position() - start) + " bytes for an element of " + length + " bytes");
+    }
+
+    /*
+     * readRecord() reads one element of the given length, leaving the buffer right after it
+     */
+
+    private T readRecord(ByteBuffer buffer, int length) throws IOException {
+        int end = buffer.position() + length;
+        T data = serializer.read(buffer, length);
+
+        if (buffer.position() != end)
+            throw new StreamCorruptedException("Serializer read " + (buffer.position() - end + length) + " bytes of a " + length + " byte element");
+
+        return data;
+    }
+
+    private static int readLength(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+
+        if (length < 0)
+            throw new StreamCorruptedException("Negative element length " + length);
+
+        return length;
+    }
+
+    private static void writeHeader(ByteBuffer buffer, int fixedLength, long count) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(fixedLength);
+        buffer.putLong(count);
+    }
+
+    /*
+     * readHeader() checks the header and returns the number of elements
+     * The element length in the header has to match the serializer's, since records written with a different one cannot be read back
+     */
+
+    private static long readHeader(ByteBuffer buffer, int fixedLength) throws IOException {
+        if (buffer.getInt() != MAGIC)
+            throw new StreamCorruptedException("Not a binary linked list");
+
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new StreamCorruptedException("Unsupported binary linked list version " + version);
+
+        int length = buffer.getInt();
+        if (length != fixedLength)
+            throw new StreamCorruptedException("List was written with element length " + length + " but the serializer uses " + fixedLength);
+
+        long count = buffer.getLong();
+        if (count < 0)
+            throw new StreamCorruptedException("Negative element count " + count);
+
+        return count;
+    }
+
+    private static int checkCount(long count) throws IOException {
+        if (count > Integer.MAX_VALUE - 8)
+            throw new StreamCorruptedException("Too many elements for a primitive list: " + count);
+
+        return (int) count;
+    }
+
+    /*
+     * initialCapacity() and grownCapacity() size the values array of a primitive list being read, never going past the count in the header
+     */
+
+    private static int initialCapacity(int count) {
+        return Math.max(1, Math.min(count, MAX_INITIAL_CAPACITY));
+    }
+
+    private static int grownCapacity(int capacity, int needed, int count) {
+        return (int) Math.min(count, Math.max(needed, 2L * capacity));
+    }
+
+    private static void linkInOrder(int[] next, int[] prev, int count) {
+        for (int i = 0; i < count; i ++) {
+            next[i] = i + 1;
+            prev[i] = i - 1;
+        }
+
+        if (count > 0)
+            next[count - 1] = IntLinkedList.NIL;
+    }
+
+    /*
+     * flush() writes out everything in a buffer that is being filled and empties it
+     * fill() makes sure a buffer that is being read from has at least needed bytes left, moving what is left to the front and reading more from the
+     * channel, and throws an EOFException if the channel runs out first
+     * needed comes from the stream (a record length), so the buffer is not allocated at that size up front: it only doubles (up to needed) once the
+     * bytes already read have filled it, and a short stream that claims a huge record ends in an EOFException after a few small buffers, not an
+     * OutOfMemoryError
+     */
+
+    private static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    private static ByteBuffer fill(ReadableByteChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed)
+            return buffer;
+
+        buffer.compact();
+
+        while (buffer.position() < needed) {
+            if (!buffer.hasRemaining()) {
+                ByteBuffer bigger = ByteBuffer.allocateDirect((int) Math.min(needed, 2L * buffer.capacity()));
+                bigger.put(buffer.flip());
+                buffer = bigger;
+            }
+
+            if (channel.read(buffer) < 0)
+                throw new EOFException("Linked list ended " + (needed - buffer.position()) + " bytes too soon");
+        }
+
+        return buffer.flip();
+    }
+}
\ No newline at end of file
@@ -11,6 +11,13 @@ public interface LinkedListInterface<T> {
 
     void insertToTail(T data);
 
+    /*
+     * delete() removes the first element equal to the data, and does nothing if there is none, which includes deleting from an empty list
+     * None of the implementations print anything or throw for an empty list
+     * LinkedList is the only one with a listener (see LinkedListListener), so it is also the only one that reports deleting from an empty list, as an
+     * emptyListRemoval() event; the other implementations have nothing to report it to, and a caller that cares can check isEmpty() first
+     */
+
     void delete(T data);
 
     T search(T data);
@@ -0,0 +1,32 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+/*
+ * A LinkedListListener is told about the operations a LinkedList performs, so it can keep metrics on them (LinkedListMetrics is the one that comes
+ * with the library, but anything can be plugged in with setListener())
+ *
+ * operationCompleted() is called after every instrumented operation with how long it took in nanoseconds, how many nodes it walked over to get to the
+ * node it was looking for, and whether it was a hit (the data or index it was looking for was in the list) or a miss
+ * Inserts to the front or the tail never walk the list and are always hits
+ *
+ * The bulk operations (addAll(), addAllToFront(), removeIf() and the removeAll() / retainAll() built on it, splice(), sort() and parallelSort(), and
+ * LinkedListCodec.readInto()) are one call each, however many elements they add, remove or move
+ * For those, nodesTraversed is how many nodes of the list they walked (removeIf() and the sorts walk all of them, the others none), and a hit means the
+ * call had something to do (something was added, removed or moved, or there were at least 2 elements to sort)
+ *
+ * emptyListRemoval() is called when delete() or deleteAll() is called on a list that is already empty, which used to just print a message out
+ *
+ * The listener is called on whatever thread is using the list, in the middle of the operation, so it should be quick and must not change the list
+ */
+
+public interface LinkedListListener {
+
+    enum Operation {
+        INSERT_TO_FRONT, INSERT_TO_TAIL, INSERT_AFTER, INSERT_BEFORE, INSERT_AT, DELETE, DELETE_ALL, REMOVE_AT, SEARCH, GET_DATA_AT,
+        ADD_ALL, ADD_ALL_TO_FRONT, REMOVE_IF, SPLICE, SORT, READ
+    }
+
+    void operationCompleted(Operation operation, long nanos, int nodesTraversed, boolean hit);
+
+    default void emptyListRemoval(Operation operation) {
+    }
+}
\ No newline at end of file
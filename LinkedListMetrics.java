@@ -0,0 +1,296 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/*
+ * LinkedListMetrics is a LinkedListListener that keeps count of what a list (or several lists sharing it) has been doing:
+ *
+ * - how many times each operation was called, and how many of those were hits and misses
+ * - a histogram of how long each operation took, in nanoseconds
+ * - a histogram of how many nodes each operation walked over, which is usually what makes a slow call slow (a search for something near the end of a
+ *   long list, or a getDataAt() in the middle of one)
+ *
+ * The histograms have one bucket per power of two, so recording a value is just a few atomic increments and the metrics never grow, no matter how many
+ * operations are recorded
+ * Everything is kept in atomic counters so the metrics can be read from another thread (like a JMX client through register()) while the list is in use
+ *
+ * To use it, pass it to LinkedList.setListener(); a list without a listener does not record anything at all
+ */
+
+public class LinkedListMetrics implements LinkedListListener, LinkedListMetricsMXBean {
+
+    static final int BUCKETS = 64;
+    static final Operation[] OPERATIONS = Operation.values();
+
+    final AtomicLongArray counts = new AtomicLongArray(OPERATIONS.length);
+    final AtomicLongArray hits = new AtomicLongArray(OPERATIONS.length);
+    final AtomicLongArray totalNanos = new AtomicLongArray(OPERATIONS.length);
+    final AtomicLongArray totalTraversed = new AtomicLongArray(OPERATIONS.length);
+    final AtomicLongArray latencies = new AtomicLongArray(OPERATIONS.length * BUCKETS);
+    final AtomicLongArray traversals = new AtomicLongArray(OPERATIONS.length * BUCKETS);
+    final AtomicLong emptyListRemovals = new AtomicLong();
+
+    /*
+     * operationCompleted() counts the operation and adds its latency and the number of nodes it walked to that operation's histograms
+     */
+
+    @Override
+    public void operationCompleted(Operation operation, long nanos, int nodesTraversed, boolean hit) {
+        int op = operation.ordinal();
+
+        counts.incrementAndGet(op);
+        if (hit)
+            hits.incrementAndGet(op);
+
+        totalNanos.addAndGet(op, nanos);
+        totalTraversed.addAndGet(op, nodesTraversed);
+        latencies.incrementAndGet(op * BUCKETS + bucket(nanos));
+        traversals.incrementAndGet(op * BUCKETS + bucket(nodesTraversed));
+    }
+
+    /*
+     * A removal from an empty list is counted as a call to that operation and a miss, and is also counted on its own
+     * It is left out of the histograms since the list did not do anything
+     */
+
+    @Override
+    public void emptyListRemoval(Operation operation) {
+        counts.incrementAndGet(operation.ordinal());
+        emptyListRemovals.incrementAndGet();
+    }
+
+    /*
+     * The counts for a single operation
+     * hitRatio() is the share of calls to the operation that were hits, or 0 if it has not been called yet
+     */
+
+    public long count(Operation operation) {
+        return counts.get(operation.ordinal());
+    }
+
+    public long hits(Operation operation) {
+        return hits.get(operation.ordinal());
+    }
+
+    public long misses(Operation operation) {
+        return count(operation) - hits(operation);
+    }
+
+    public double hitRatio(Operation operation) {
+        long calls = count(operation);
+        return calls == 0 ? 0 : (double) hits(operation) / calls;
+    }
+
+    /*
+     * latencyHistogram() and traversalHistogram() return a copy of an operation's histogram
+     * latencyPercentile() and traversalPercentile() return the upper bound of the bucket that the given percentile (between 0 and 100) falls in, so
+     * latencyPercentile(SEARCH, 99) = 4095 means 99% of searches took less than 4096 nanoseconds
+     */
+
+    public long[] latencyHistogram(Operation operation) {
+        return histogram(latencies, operation);
+    }
+
+    public long[] traversalHistogram(Operation operation) {
+        return histogram(traversals, operation);
+    }
+
+    public long latencyPercentile(Operation operation, double percentile) {
+        return percentile(latencyHistogram(operation), percentile);
+    }
+
+    public long traversalPercentile(Operation operation, double percentile) {
+        return percentile(traversalHistogram(operation), percentile);
+    }
+
+    /*
+     * The JMX attributes, which report every operation at once
+     * getHitRatio() is the hit ratio over every lookup (search(), delete(), deleteAll(), insertAfter(), insertBefore() and getDataAt()), leaving out the
+     * operations that can never miss and the bulk operations, whose hits only say whether they had anything to do
+     */
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS)
+            map.put(operation.name(), count(operation));
+        return map;
+    }
+
+    @Override
+    public Map<String, Long> getHitCounts() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS)
+            map.put(operation.name(), hits(operation));
+        return map;
+    }
+
+    @Override
+    public Map<String, Long> getMissCounts() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS)
+            map.put(operation.name(), misses(operation));
+        return map;
+    }
+
+    @Override
+    public double getHitRatio() {
+        long lookups = 0;
+        long found = 0;
+
+        for (Operation operation : OPERATIONS) {
+            if (isLookup(operation)) {
+                lookups += count(operation);
+                found += hits(operation);
+            }
+        }
+
+        return lookups == 0 ? 0 : (double) found / lookups;
+    }
+
+    @Override
+    public long getEmptyListRemovals() {
+        return emptyListRemovals.get();
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyNanos() {
+        return means(totalNanos);
+    }
+
+    @Override
+    public Map<String, Double> getMeanNodesTraversed() {
+        return means(totalTraversed);
+    }
+
+    @Override
+    public Map<String, long[]> getLatencyHistograms() {
+        Map<String, long[]> map = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS)
+            map.put(operation.name(), latencyHistogram(operation));
+        return map;
+    }
+
+    @Override
+    public Map<String, long[]> getTraversalHistograms() {
+        Map<String, long[]> map = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS)
+            map.put(operation.name(), traversalHistogram(operation));
+        return map;
+    }
+
+    /*
+     * reset() sets every counter and histogram back to zero
+     */
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < OPERATIONS.length; i ++) {
+            counts.set(i, 0);
+            hits.set(i, 0);
+            totalNanos.set(i, 0);
+            totalTraversed.set(i, 0);
+        }
+        for (int i = 0; i < latencies.length(); i ++) {
+            latencies.set(i, 0);
+            traversals.set(i, 0);
+        }
+        emptyListRemovals.set(0);
+    }
+
+    /*
+     * register() registers the metrics with the platform MBean server under
+     * Java.libraries.DATA_STRUCTURES.linkedList:type=LinkedListMetrics,name=<name> and returns the name it was registered under
+     * unregister() takes them back out
+     */
+
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics as " + name, e);
+        }
+    }
+
+    public void unregister(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName(name));
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Could not unregister metrics " + name, e);
+        }
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(LinkedListMetrics.class.getPackage().getName() + ":type=LinkedListMetrics,name=" + ObjectName.quote(name));
+    }
+
+    /*
+     * bucket() returns which power of two bucket a value goes in, which is just the number of bits needed to write the value out
+     */
+
+    static int bucket(long value) {
+        if (value <= 0)
+            return 0;
+
+        return Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(value));
+    }
+
+    static long percentile(long[] histogram, double percentile) {
+        long total = 0;
+        for (long count : histogram)
+            total += count;
+
+        if (total == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+
+        for (int i = 0; i < histogram.length; i ++) {
+            seen += histogram[i];
+            if (seen >= rank && seen > 0)
+                return i == 0 ? 0 : (1L << i) - 1;
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    private static long[] histogram(AtomicLongArray histograms, Operation operation) {
+        long[] histogram = new long[BUCKETS];
+        int offset = operation.ordinal() * BUCKETS;
+
+        for (int i = 0; i < BUCKETS; i ++)
+            histogram[i] = histograms.get(offset + i);
+
+        return histogram;
+    }
+
+    private Map<String, Double> means(AtomicLongArray totals) {
+        Map<String, Double> map = new LinkedHashMap<>();
+
+        for (Operation operation : OPERATIONS) {
+            long measured = 0;
+            for (long count : histogram(latencies, operation))
+                measured += count;
+            map.put(operation.name(), measured == 0 ? 0 : (double) totals.get(operation.ordinal()) / measured);
+        }
+
+        return map;
+    }
+
+    private static boolean isLookup(Operation operation) {
+        return operation == Operation.INSERT_AFTER || operation == Operation.INSERT_BEFORE || operation == Operation.DELETE
+            || operation == Operation.DELETE_ALL || operation == Operation.SEARCH || operation == Operation.GET_DATA_AT;
+    }
+}
\ No newline at end of file
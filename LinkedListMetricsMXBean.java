@@ -0,0 +1,34 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.Map;
+
+/*
+ * This is the management interface that LinkedListMetrics is registered under, so its numbers can be read with JConsole, VisualVM or any other JMX
+ * client while the program is running
+ *
+ * Every map is keyed by the name of the operation
+ * The histograms have one bucket per power of two: bucket 0 counts values of 0, and bucket i counts values from 2^(i - 1) up to 2^i - 1
+ */
+
+public interface LinkedListMetricsMXBean {
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Long> getHitCounts();
+
+    Map<String, Long> getMissCounts();
+
+    double getHitRatio();
+
+    long getEmptyListRemovals();
+
+    Map<String, Double> getMeanLatencyNanos();
+
+    Map<String, Double> getMeanNodesTraversed();
+
+    Map<String, long[]> getLatencyHistograms();
+
+    Map<String, long[]> getTraversalHistograms();
+
+    void reset();
+}
\ No newline at end of file
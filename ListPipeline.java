@@ -0,0 +1,312 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/*
+ * A ListPipeline is a lazy chain of operations (map, filter, limit, skip and takeWhile) over a LinkedList, created with LinkedList.pipeline()
+ *
+ * Transforming a list by hand means building a whole new LinkedList for every step (filter the list into a new list, then map that one into another
+ * new list, and so on)
+ * A pipeline does not do anything until a terminal operation (forEach, reduce, count, findFirst, anyMatch or toList) is called, and then it walks the
+ * list's Node chain a single time, passing each element through every step one after the other, so there are no lists in between
+ *
+ * Every step is a Sink that takes an element, does its thing and passes it on to the next step, and returns false once nothing else is needed (limit()
+ * has seen enough elements, takeWhile() found an element that does not match, findFirst() found its element)
+ * As soon as any step returns false the walk stops, so findFirst() stops at the first match just like search() does
+ *
+ * Each step returns a new pipeline and leaves the one it was called on alone, and a pipeline can be run more than once (each run walks the list as it
+ * is at that time)
+ * The list must not be changed while a terminal operation is running, or it throws a ConcurrentModificationException
+ *
+ * parallel() makes forEach, reduce and count split a big list into segments and run them on the ForkJoinPool at the same time
+ * This is only done when every step is map or filter (limit, skip and takeWhile depend on which elements came before, which a segment cannot know), and
+ * only for lists of at least PARALLEL_THRESHOLD elements, and otherwise the pipeline just runs in one pass like normal
+ */
+
+public class ListPipeline<T> {
+
+    /*
+     * A Sink is one step of a running pipeline, and returns whether it wants more elements
+     */
+
+    interface Sink<T> {
+
+        boolean accept(T data);
+    }
+
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /*
+     * source is the list being walked, and wrap builds the chain of sinks for one run: given the sink for the last step it wraps every step in front of it
+     * and returns the sink that the list's elements go into
+     * stateless is whether every step is map or filter, which is when the pipeline can be split into segments
+     */
+
+    final LinkedList<?> source;
+    final Function<Sink<? super T>, Sink<Object>> wrap;
+    final boolean stateless;
+    final boolean parallel;
+
+    @SuppressWarnings("unchecked")
+    ListPipeline(LinkedList<T> source) {
+        this(source, sink -> (Sink<Object>) sink, true, false);
+    }
+
+    ListPipeline(LinkedList<?> source, Function<Sink<? super T>, Sink<Object>> wrap, boolean stateless, boolean parallel) {
+        this.source = source;
+        this.wrap = wrap;
+        this.stateless = stateless;
+        this.parallel = parallel;
+    }
+
+    /*
+     * map() turns every element into what the function returns, and filter() only lets through the elements that match the predicate
+     */
+
+    public <R> ListPipeline<R> map(Function<? super T, ? extends R> mapper) {
+        return new ListPipeline<R>(source, sink -> wrap.apply(data -> sink.accept(mapper.apply(data))), stateless, parallel);
+    }
+
+    public ListPipeline<T> filter(Predicate<? super T> predicate) {
+        return new ListPipeline<T>(source, sink -> wrap.apply(data -> !predicate.test(data) || sink.accept(data)), stateless, parallel);
+    }
+
+    /*
+     * limit() only lets through the first maxElements elements and then stops the walk, skip() drops the first n elements, and takeWhile() lets elements
+     * through until the first one that does not match the predicate, and stops the walk there
+     * Each run of the pipeline gets its own counter, so running it again starts counting from zero
+     */
+
+    public ListPipeline<T> limit(long maxElements) {
+        if (maxElements < 0)
+            throw new IllegalArgumentException("Limit cannot be negative: " + maxElements);
+
+        return new ListPipeline<T>(source, sink -> {
+            long[] left = { maxElements };
+            return wrap.apply(data -> left[0] > 0 && sink.accept(data) && -- left[0] > 0);
+        }, false, parallel);
+    }
+
+    public ListPipeline<T> skip(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Skip cannot be negative: " + n);
+
+        return new ListPipeline<T>(source, sink -> {
+            long[] left = { n };
+            return wrap.apply(data -> {
+                if (left[0] > 0) {
+                    left[0] --;
+                    return true;
+                }
+                return sink.accept(data);
+            });
+        }, false, parallel);
+    }
+
+    public ListPipeline<T> takeWhile(Predicate<? super T> predicate) {
+        return new ListPipeline<T>(source, sink -> wrap.apply(data -> predicate.test(data) && sink.accept(data)), false, parallel);
+    }
+
+    /*
+     * parallel() and sequential() return the same pipeline set to run its terminal operations in parallel or in one pass
+     */
+
+    public ListPipeline<T> parallel() {
+        return new ListPipeline<>(source, wrap, stateless, true);
+    }
+
+    public ListPipeline<T> sequential() {
+        return new ListPipeline<>(source, wrap, stateless, false);
+    }
+
+    /*
+     * forEach() passes every element that comes out of the pipeline to the action
+     * In parallel the action is called from several threads at once and not in list order
+     */
+
+    public void forEach(Consumer<? super T> action) {
+        reduce(null, (ignored, data) -> {
+            action.accept(data);
+            return null;
+        }, (left, right) -> null);
+    }
+
+    /*
+     * reduce() combines every element that comes out of the pipeline into one value, starting from identity, for example reduce(0, Integer::sum)
+     * The version with a combiner can reduce to a different type than the elements, and the combiner joins two partial results (which is only needed in
+     * parallel, where every segment is reduced on its own starting from identity)
+     * In parallel, identity has to be a real identity (combining it with any x gives x) and the functions have to be associative, like for Stream.reduce()
+     */
+
+    public T reduce(T identity, BinaryOperator<T> accumulator) {
+        return reduce(identity, accumulator, accumulator);
+    }
+
+    public <R> R reduce(R identity, BiFunction<R, ? super T, R> accumulator, BinaryOperator<R> combiner) {
+        if (parallel && stateless && source.numElements >= PARALLEL_THRESHOLD)
+            return reduceInParallel(identity, accumulator, combiner);
+
+        Object[] result = { identity };
+        run(data -> {
+            result[0] = accumulator.apply(cast(result[0]), data);
+            return true;
+        });
+        return cast(result[0]);
+    }
+
+    public long count() {
+        return reduce(0L, (count, data) -> count + 1, Long::sum);
+    }
+
+    /*
+     * findFirst() returns the first element that comes out of the pipeline (or null if none do) and anyMatch() returns whether any element that comes out
+     * matches the predicate
+     * Both stop walking the list as soon as they have their answer
+     */
+
+    public T findFirst() {
+        Object[] found = { null };
+        run(data -> {
+            found[0] = data;
+            return false;
+        });
+        return cast(found[0]);
+    }
+
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        boolean[] matched = { false };
+        run(data -> {
+            matched[0] = predicate.test(data);
+            return !matched[0];
+        });
+        return matched[0];
+    }
+
+    /*
+     * toList() collects the elements that come out of the pipeline into a new LinkedList, in order
+     */
+
+    public LinkedList<T> toList() {
+        LinkedList<T> list = new LinkedList<>();
+        run(data -> {
+            list.linkLast(list.newNode(data));
+            return true;
+        });
+        return list;
+    }
+
+    /*
+     * run() builds the chain of sinks ending in the terminal operation's sink and walks the list's nodes into it, until the end of the list or until the
+     * chain returns false
+     */
+
+    private void run(Sink<? super T> terminal) {
+        Sink<Object> sink = wrap.apply(terminal);
+        int expectedModCount = source.modCount;
+
+        for (Node<?> current = source.head; current != null && source.modCount == expectedModCount; current = current.next) {
+            if (!sink.accept(current.data))
+                break;
+        }
+
+        if (source.modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /*
+     * reduceInParallel() walks the list once to find where each segment starts (the same way parallelSort() cuts the list into runs, but without cutting
+     * any links), and then lets SegmentTask reduce the segments on the ForkJoinPool
+     */
+
+    private <R> R reduceInParallel(R identity, BiFunction<R, ? super T, R> accumulator, BinaryOperator<R> combiner) {
+        int numElements = source.numElements;
+        int expectedModCount = source.modCount;
+        int segmentCount = Math.max(1, Math.min(numElements / (PARALLEL_THRESHOLD / 4), ForkJoinPool.getCommonPoolParallelism() * 4));
+        int segmentLength = (numElements + segmentCount - 1) / segmentCount;
+
+        Node<?>[] starts = new Node<?>[segmentCount];
+        Node<?> current = source.head;
+
+        for (int segment = 0; segment < segmentCount && current != null; segment ++) {
+            starts[segment] = current;
+            for (int i = 0; i < segmentLength && current != null; i ++)
+                current = current.next;
+        }
+
+        R result = ForkJoinPool.commonPool().invoke(new SegmentTask<>(this, starts, segmentLength, 0, segmentCount, identity, accumulator, combiner));
+
+        if (source.modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+
+        return result;
+    }
+
+    /*
+     * SegmentTask reduces the segments from lo up to hi, splitting the range in half and reducing the first half in another task, and then combines the
+     * two halves in list order
+     * A single segment is reduced by building its own chain of sinks and walking up to segmentLength nodes from where it starts
+     */
+
+    static class SegmentTask<T, R> extends RecursiveTask<R> {
+
+        private static final long serialVersionUID = 1L;
+
+        final ListPipeline<T> pipeline;
+        final Node<?>[] starts;
+        final int segmentLength;
+        final int lo;
+        final int hi;
+        final R identity;
+        final BiFunction<R, ? super T, R> accumulator;
+        final BinaryOperator<R> combiner;
+
+        SegmentTask(ListPipeline<T> pipeline, Node<?>[] starts, int segmentLength, int lo, int hi, R identity, BiFunction<R, ? super T, R> accumulator,
+                BinaryOperator<R> combiner) {
+            this.pipeline = pipeline;
+            this.starts = starts;
+            this.segmentLength = segmentLength;
+            this.lo = lo;
+            this.hi = hi;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                SegmentTask<T, R> left = new SegmentTask<>(pipeline, starts, segmentLength, lo, mid, identity, accumulator, combiner);
+                left.fork();
+                R right = new SegmentTask<>(pipeline, starts, segmentLength, mid, hi, identity, accumulator, combiner).compute();
+                return combiner.apply(left.join(), right);
+            }
+
+            Object[] result = { identity };
+            Sink<Object> sink = pipeline.wrap.apply(data -> {
+                result[0] = accumulator.apply(cast(result[0]), data);
+                return true;
+            });
+
+            Node<?> current = starts[lo];
+            for (int i = 0; i < segmentLength && current != null; i ++) {
+                sink.accept(current.data);
+                current = current.next;
+            }
+
+            return cast(result[0]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R> R cast(Object value) {
+        return (R) value;
+    }
+}
\ No newline at end of file
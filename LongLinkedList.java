@@ -0,0 +1,300 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.Arrays;
+
+/*
+ * LongLinkedList is a doubly linked list of long values that does not box its values or create a Node for every element
+ *
+ * A LinkedList<Long> stores each value as a Long object inside a Node object, so every element costs two objects and every comparison in search()
+ * has to unbox the value first
+ * This list stores its nodes in three parallel arrays instead: values[i] is the value of node i, and next[i] / prev[i] are the indexes of the nodes after
+ * and before it (or NIL if there is none), so a node is just a slot number
+ *
+ * Slots of deleted nodes are kept on a free list (linked through the next array) and reused by the next insert, so inserting and deleting never creates
+ * any objects
+ * The arrays only get reallocated when every slot is in use, in which case they double in size
+ */
+
+public class LongLinkedList {
+
+    static final int NIL = -1;
+    static final int DEFAULT_CAPACITY = 16;
+
+    long[] values;
+    int[] next;
+    int[] prev;
+
+    int head = NIL;
+    int tail = NIL;
+    int free = NIL;
+    int used = 0;
+    int numElements = 0;
+
+    /*
+     * The constructors create the arrays with room for the given number of elements (16 by default) before they need to grow
+     */
+
+    public LongLinkedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongLinkedList(int initialCapacity) {
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException("Initial capacity must be at least 1: " + initialCapacity);
+
+        values = new long[initialCapacity];
+        next = new int[initialCapacity];
+        prev = new int[initialCapacity];
+    }
+
+    /*
+     * insertToFront() and insertToTail() take a free slot for the value and link it in as the new head or the new tail, in the same way as LinkedList
+     */
+
+    public void insertToFront(long data) {
+        int node = allocate(data);
+
+        next[node] = head;
+        prev[node] = NIL;
+        if (head == NIL)
+            tail = node;
+        else
+            prev[head] = node;
+        head = node;
+
+        numElements ++;
+    }
+
+    public void insertToTail(long data) {
+        int node = allocate(data);
+
+        next[node] = NIL;
+        prev[node] = tail;
+        if (tail == NIL)
+            head = node;
+        else
+            next[tail] = node;
+        tail = node;
+
+        numElements ++;
+    }
+
+    /*
+     * insertAfter() and insertBefore() link the value in right after / right before the first node holding afterData / beforeData
+     * If that value is not in the list (or the list is empty), the value is inserted to the end of the list as the new tail
+     */
+
+    public void insertAfter(long data, long afterData) {
+        int current = find(afterData);
+
+        if (current == NIL || current == tail) {
+            insertToTail(data);
+            return;
+        }
+
+        int node = allocate(data);
+        prev[node] = current;
+        next[node] = next[current];
+        prev[next[current]] = node;
+        next[current] = node;
+
+        numElements ++;
+    }
+
+    public void insertBefore(long data, long beforeData) {
+        int current = find(beforeData);
+
+        if (current == NIL) {
+            insertToTail(data);
+            return;
+        }
+        if (current == head) {
+            insertToFront(data);
+            return;
+        }
+
+        int node = allocate(data);
+        next[node] = current;
+        prev[node] = prev[current];
+        next[prev[current]] = node;
+        prev[current] = node;
+
+        numElements ++;
+    }
+
+    /*
+     * delete() unlinks the first node holding the value, deleteAll() walks the whole list once and unlinks every node holding the value
+     * An empty list has no head to start walking from, so both just return (this list has no listener to report it to, see LinkedListInterface)
+     */
+
+    public void delete(long data) {
+
+        if (numElements == 0)
+            return;
+
+        int current = find(data);
+
+        if (current != NIL)
+            unlink(current);
+    }
+
+    public void deleteAll(long data) {
+
+        if (numElements == 0)
+            return;
+
+        int current = head;
+
+        while (current != NIL) {
+            int following = next[current];
+            if (values[current] == data)
+                unlink(current);
+            current = following;
+        }
+    }
+
+    /*
+     * getDataAt() walks from whichever end of the list is closer to the index
+     * Since there is no null to return for a long, an index outside of the list throws an IndexOutOfBoundsException
+     */
+
+    public long getDataAt(int index) {
+        if (index < 0 || index >= numElements)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numElements);
+
+        int current;
+
+        if (index < numElements / 2) {
+            current = head;
+            for (int i = 0; i < index; i ++)
+                current = next[current];
+        }
+        else {
+            current = tail;
+            for (int i = numElements - 1; i > index; i --)
+                current = prev[current];
+        }
+
+        return values[current];
+    }
+
+    /*
+     * search() returns whether or not the value is in the list (returning the value itself like LinkedList does would not tell you anything here)
+     */
+
+    public boolean search(long data) {
+        return find(data) != NIL;
+    }
+
+    public boolean isEmpty() {
+        return numElements == 0;
+    }
+
+    public int size() {
+        return numElements;
+    }
+
+    /*
+     * toString(), toStringReverse(), print() and printReverse() produce the same output as they do in LinkedList
+     */
+
+    @Override
+    public String toString() {
+        if (isEmpty())
+            return "[]\nSize: 0";
+
+        StringBuilder string = new StringBuilder("[");
+
+        for (int current = head; current != NIL; current = next[current]) {
+            if (current != head)
+                string.append(" -> ");
+            string.append(values[current]);
+        }
+
+        return string.append("]\nSize: ").append(numElements).toString();
+    }
+
+    public String toStringReverse() {
+        if (isEmpty())
+            return "[]\nSize: 0";
+
+        StringBuilder string = new StringBuilder("[");
+
+        for (int current = tail; current != NIL; current = prev[current]) {
+            if (current != tail)
+                string.append(" <- ");
+            string.append(values[current]);
+        }
+
+        return string.append("]\nSize: ").append(numElements).toString();
+    }
+
+    public void print() {
+        System.out.println(toString());
+    }
+
+    public void printReverse() {
+        System.out.println(toStringReverse());
+    }
+
+    /*
+     * find() returns the slot of the first node holding the value, or NIL if there is none
+     */
+
+    private int find(long data) {
+        for (int current = head; current != NIL; current = next[current]) {
+            if (values[current] == data)
+                return current;
+        }
+
+        return NIL;
+    }
+
+    /*
+     * allocate() hands out a slot for a new node, taking it from the free list if there is one, or else from the end of the arrays (doubling them first
+     * if they are full)
+     */
+
+    private int allocate(long data) {
+        int node;
+
+        if (free != NIL) {
+            node = free;
+            free = next[node];
+        }
+        else {
+            if (used == values.length) {
+                int capacity = values.length * 2;
+                values = Arrays.copyOf(values, capacity);
+                next = Arrays.copyOf(next, capacity);
+                prev = Arrays.copyOf(prev, capacity);
+            }
+            node = used ++;
+        }
+
+        values[node] = data;
+        return node;
+    }
+
+    /*
+     * unlink() links the nodes around a slot to each other (updating the head or tail if needed) and puts the slot on the free list
+     */
+
+    private void unlink(int node) {
+        if (prev[node] == NIL)
+            head = next[node];
+        else
+            next[prev[node]] = next[node];
+
+        if (next[node] == NIL)
+            tail = prev[node];
+        else
+            prev[next[node]] = prev[node];
+
+        next[node] = free;
+        prev[node] = NIL;
+        free = node;
+
+        numElements --;
+    }
+}
\ No newline at end of file
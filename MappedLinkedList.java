@@ -0,0 +1,698 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * MappedLinkedList is a doubly linked list whose nodes live in a memory-mapped file instead of on the Java heap
+ *
+ * Every node is a record in the file, and instead of next and prev references each record stores the file offsets of the records after and before it
+ * Since the list is the file, opening an existing file gives you the list back straight away, without reading and deserializing every element, and the
+ * list can hold more data than fits in the Java heap (the operating system pages the parts of the file being used in and out of memory)
+ * Elements are only turned into bytes and back (with an ElementSerializer) when they are inserted or read
+ *
+ * The file starts with a 64 byte header:
+ * magic number (int), format version (int), segment shift (int), clean flag (int), head offset (long), tail offset (long), end offset (long),
+ * number of elements (long), dead bytes (long)
+ *
+ * and every record after it is laid out as:
+ * payload length (int), status (int), prev offset (long), next offset (long), payload (the serialized element), padded to a multiple of 8 bytes
+ *
+ * An offset of 0 means there is no record (like a null link), since offset 0 is the header
+ * The file is mapped in segments (64MB each by default) because one mapping can only cover 2GB, and a record never crosses the end of a segment
+ *
+ * Crash safety comes from the order things are written in:
+ * - a new record is written completely, and the end of the used space is moved past it, before anything links to it
+ * - the list is only ever read forwards when recovering, so the link that makes a record part of the list is the next link (or head offset) pointing
+ *   at it, and that link is always written after the record itself
+ * - when deleting, the record is skipped over in the forward direction first, and only then are the prev link, the tail and the counts updated
+ * The clean flag is cleared while the file is open and set again by close(), so if the process dies with the file open, the next open walks the list
+ * forwards once and repairs the prev links, the tail offset and the counts
+ * That order only protects against the process crashing: what was written through the mapping is in the operating system's page cache, which still
+ * writes it to the file after the process is gone
+ * It does not protect against the operating system crashing or the power going out, because the page cache writes dirty pages back in whatever order
+ * it likes, so a link can reach the disk before the record it points at, and nothing forces every insert to the disk (that would cost a disk write
+ * per insert)
+ * Only what was on the disk at the last force() or close() is durable, and a file that was open when the machine went down may come back with links
+ * to records that were never written, so call force() after the changes that have to survive that
+ *
+ * Deleted records (and the unused ends of segments) are left where they are and counted as dead bytes, and compact() rewrites the file with only the
+ * live records to get that space back
+ */
+
+public class MappedLinkedList<T> implements LinkedListInterface<T>, Iterable<T>, Closeable {
+
+    static final int MAGIC = 0x4C4C4D46;
+    static final int VERSION = 1;
+    static final int DEFAULT_SEGMENT_SHIFT = 26;
+    static final long NIL = 0;
+
+    static final int HEADER_SIZE = 64;
+    static final int MAGIC_AT = 0;
+    static final int VERSION_AT = 4;
+    static final int SHIFT_AT = 8;
+    static final int CLEAN_AT = 12;
+    static final int HEAD_AT = 16;
+    static final int TAIL_AT = 24;
+    static final int END_AT = 32;
+    static final int COUNT_AT = 40;
+    static final int DEAD_AT = 48;
+
+    static final int RECORD_HEADER_SIZE = 24;
+    static final int LENGTH_AT = 0;
+    static final int STATUS_AT = 4;
+    static final int PREV_AT = 8;
+    static final int NEXT_AT = 16;
+    static final int LIVE = 1;
+    static final int DELETED = 2;
+
+    final Path file;
+    final ElementSerializer<T> serializer;
+
+    FileChannel channel;
+    ArrayList<MappedByteBuffer> segments;
+    int segmentShift;
+    long segmentSize;
+
+    /*
+     * These are copies of the header fields, every change to them is written straight through to the header as well
+     */
+
+    long head;
+    long tail;
+    long end;
+    long numElements;
+    long deadBytes;
+
+    /*
+     * scratch is a reusable buffer that the data being searched for is serialized into, so it can be compared with the records' bytes
+     */
+
+    ByteBuffer scratch = ByteBuffer.allocate(64);
+
+    /*
+     * The constructors open the file (creating it if it does not exist) with 64MB segments, or with segments of 2 ^ segmentShift bytes
+     * The segment size is saved in the header, so an existing file is always reopened with the segment size it was created with
+     */
+
+    public MappedLinkedList(Path file, ElementSerializer<T> serializer) throws IOException {
+        this(file, serializer, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    public MappedLinkedList(Path file, ElementSerializer<T> serializer, int segmentShift) throws IOException {
+        if (segmentShift < 12 || segmentShift > 30)
+            throw new IllegalArgumentException("Segment shift must be between 12 and 30: " + segmentShift);
+
+        this.file = file;
+        this.serializer = serializer;
+        this.segmentShift = segmentShift;
+        open();
+    }
+
+    /*
+     * open() maps the file and either writes a new header (for a new, empty file) or reads the existing header, running recover() first if the file was
+     * not closed cleanly
+     * The clean flag is then cleared until close() is called
+     */
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments = new ArrayList<>();
+
+        if (channel.size() == 0) {
+            segmentSize = 1L << segmentShift;
+            MappedByteBuffer header = segment(0);
+            header.putInt(MAGIC_AT, MAGIC);
+            header.putInt(VERSION_AT, VERSION);
+            header.putInt(SHIFT_AT, segmentShift);
+            setHead(NIL);
+            setTail(NIL);
+            setEnd(HEADER_SIZE);
+            setNumElements(0);
+            setDeadBytes(0);
+        }
+        else {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+
+            if (header.getInt(MAGIC_AT) != MAGIC)
+                throw new IOException(file + " is not a mapped linked list file");
+            if (header.getInt(VERSION_AT) != VERSION)
+                throw new IOException(file + " has unsupported version " + header.getInt(VERSION_AT));
+
+            segmentShift = header.getInt(SHIFT_AT);
+            segmentSize = 1L << segmentShift;
+            head = header.getLong(HEAD_AT);
+            tail = header.getLong(TAIL_AT);
+            end = header.getLong(END_AT);
+            numElements = header.getLong(COUNT_AT);
+            deadBytes = header.getLong(DEAD_AT);
+
+            if (header.getInt(CLEAN_AT) != 1)
+                recover();
+        }
+
+        segment(0).putInt(CLEAN_AT, 0);
+    }
+
+    /*
+     * recover() walks the list forwards from the head, which is always consistent, and rebuilds everything else from it: every record's prev link, the
+     * tail offset, the number of elements and the number of dead bytes
+     */
+
+    private void recover() {
+        long previous = NIL;
+        long count = 0;
+        long liveBytes = 0;
+
+        for (long offset = head; offset != NIL; offset = next(offset)) {
+            if (prev(offset) != previous)
+                setPrev(offset, previous);
+            previous = offset;
+            count ++;
+            liveBytes += recordSize(length(offset));
+        }
+
+        setTail(previous);
+        setNumElements(count);
+        setDeadBytes(end - HEADER_SIZE - liveBytes);
+    }
+
+    /*
+     * insertToTail() writes a new record and then links it after the tail
+     * Setting the old tail's next link (or the head offset, if the list was empty) is the point where the record becomes part of the list, the tail
+     * offset and the count are only updated after that
+     */
+
+    @Override
+    public void insertToTail(T data) {
+        long offset = writeRecord(data, tail, NIL);
+
+        if (tail == NIL)
+            setHead(offset);
+        else
+            setNext(tail, offset);
+
+        setTail(offset);
+        setNumElements(numElements + 1);
+    }
+
+    /*
+     * insertToFront() writes a new record whose next link is the current head and then makes it the new head, which is the point where it becomes part
+     * of the list, before linking the old head back to it
+     */
+
+    @Override
+    public void insertToFront(T data) {
+        long offset = writeRecord(data, NIL, head);
+        long oldHead = head;
+
+        setHead(offset);
+
+        if (oldHead == NIL)
+            setTail(offset);
+        else
+            setPrev(oldHead, offset);
+
+        setNumElements(numElements + 1);
+    }
+
+    /*
+     * insertAfter() and insertBefore() write a new record linked to the record holding the first match of afterData / beforeData and its neighbour,
+     * and then link it in with the forward link first
+     * If the data is not in the list, the new data is inserted to the end of the list, like in LinkedList
+     */
+
+    public void insertAfter(T data, T afterData) {
+        long current = find(afterData);
+
+        if (current == NIL || current == tail) {
+            insertToTail(data);
+            return;
+        }
+
+        long following = next(current);
+        long offset = writeRecord(data, current, following);
+
+        setNext(current, offset);
+        setPrev(following, offset);
+        setNumElements(numElements + 1);
+    }
+
+    public void insertBefore(T data, T beforeData) {
+        long current = find(beforeData);
+
+        if (current == NIL) {
+            insertToTail(data);
+            return;
+        }
+        if (current == head) {
+            insertToFront(data);
+            return;
+        }
+
+        long previous = prev(current);
+        long offset = writeRecord(data, previous, current);
+
+        setNext(previous, offset);
+        setPrev(current, offset);
+        setNumElements(numElements + 1);
+    }
+
+    /*
+     * delete() unlinks the first record holding the data and deleteAll() unlinks every record holding it
+     * On a file with no records both return without serializing the data (see LinkedListInterface for why nothing is reported)
+     * Records are compared by their serialized bytes, so the data being deleted is serialized once and none of the records have to be deserialized
+     */
+
+    @Override
+    public void delete(T data) {
+
+        if (numElements == 0)
+            return;
+
+        long offset = find(data);
+
+        if (offset != NIL)
+            unlink(offset);
+    }
+
+    public void deleteAll(T data) {
+
+        if (numElements == 0)
+            return;
+
+        serializeProbe(data);
+        long offset = head;
+
+        while (offset != NIL) {
+            long following = next(offset);
+            if (matchesProbe(offset))
+                unlink(offset);
+            offset = following;
+        }
+    }
+
+    /*
+     * search() returns the element stored in the first record holding the data, or null if there is none
+     */
+
+    @Override
+    public T search(T data) {
+        long offset = find(data);
+
+        if (offset == NIL)
+            return null;
+
+        return read(offset);
+    }
+
+    /*
+     * getDataAt() walks from whichever end of the list is closer to the index and returns null if there is no element at that index
+     */
+
+    public T getDataAt(long index) {
+        if (index < 0 || index >= numElements)
+            return null;
+
+        long offset;
+
+        if (index < numElements / 2) {
+            offset = head;
+            for (long i = 0; i < index; i ++)
+                offset = next(offset);
+        }
+        else {
+            offset = tail;
+            for (long i = numElements - 1; i > index; i --)
+                offset = prev(offset);
+        }
+
+        return read(offset);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return numElements == 0;
+    }
+
+    public long size() {
+        return numElements;
+    }
+
+    /*
+     * deadBytes() returns how many bytes of the file are taken up by deleted records (and unused segment ends)
+     * compact() frees the deleted records' bytes, but the compacted file has unused segment ends of its own, so it does not get all of it back
+     */
+
+    public long deadBytes() {
+        return deadBytes;
+    }
+
+    /*
+     * iterator() reads the elements from the head to the tail
+     */
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            long offset = head;
+
+            public boolean hasNext() {
+                return offset != NIL;
+            }
+
+            public T next() {
+                if (offset == NIL)
+                    throw new NoSuchElementException();
+
+                T data = read(offset);
+                offset = MappedLinkedList.this.next(offset);
+                return data;
+            }
+        };
+    }
+
+    /*
+     * toString(), toStringReverse(), print() and printReverse() produce the same output as LinkedList
+     */
+
+    @Override
+    public String toString() {
+        return render(head, true);
+    }
+
+    public String toStringReverse() {
+        return render(tail, false);
+    }
+
+    @Override
+    public void print() {
+        System.out.println(toString());
+    }
+
+    public void printReverse() {
+        System.out.println(toStringReverse());
+    }
+
+    private String render(long start, boolean forward) {
+        StringBuilder string = new StringBuilder("[");
+
+        for (long offset = start; offset != NIL; offset = forward ? next(offset) : prev(offset)) {
+            if (offset != start)
+                string.append(forward ? " -> " : " <- ");
+            string.append(read(offset));
+        }
+
+        return string.append("]\nSize: ").append(numElements).toString();
+    }
+
+    /*
+     * compact() rewrites the file with only the live records, in list order, so none of the deleted records are left
+     * The records still go into segments the same way, so whenever the next record does not fit in what is left of a segment, that unused end is
+     * counted in deadBytes() of the compacted file too (less than one record per segment)
+     * The live records' bytes are copied into a new file next to this one, which is then closed cleanly and moved over this file in one atomic rename,
+     * so if anything goes wrong part way through, the original file is still there untouched
+     */
+
+    public void compact() throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".compact");
+        Files.deleteIfExists(temporary);
+
+        try (MappedLinkedList<T> copy = new MappedLinkedList<>(temporary, serializer, segmentShift)) {
+            for (long offset = head; offset != NIL; offset = next(offset))
+                copy.appendRaw(this, offset);
+        }
+
+        closeMapping();
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    /*
+     * force() writes any changes still only in memory out to the disk
+     * close() marks the file as cleanly closed, forces it to the disk and unmaps it, after which the list cannot be used anymore
+     */
+
+    public void force() {
+        for (MappedByteBuffer segment : segments)
+            segment.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel == null)
+            return;
+
+        segment(0).putInt(CLEAN_AT, 1);
+        force();
+        closeMapping();
+    }
+
+    private void closeMapping() throws IOException {
+        segments = null;
+        channel.close();
+        channel = null;
+    }
+
+    /*
+     * find() returns the offset of the first record whose bytes match the data, or NIL if there is none
+     */
+
+    private long find(T data) {
+        serializeProbe(data);
+
+        for (long offset = head; offset != NIL; offset = next(offset)) {
+            if (matchesProbe(offset))
+                return offset;
+        }
+
+        return NIL;
+    }
+
+    private void serializeProbe(T data) {
+        int length = serializer.sizeOf(data);
+
+        if (scratch.capacity() < length)
+            scratch = ByteBuffer.allocate(Math.max(length, scratch.capacity() * 2));
+
+        scratch.clear();
+        serializer.write(data, scratch);
+        scratch.flip();
+    }
+
+    private boolean matchesProbe(long offset) {
+        if (length(offset) != scratch.remaining())
+            return false;
+
+        MappedByteBuffer segment = segment(offset);
+        int position = (int) (offset & (segmentSize - 1)) + RECORD_HEADER_SIZE;
+        segment.limit(position + scratch.remaining()).position(position);
+        boolean matches = segment.equals(scratch);
+        segment.clear();
+
+        return matches;
+    }
+
+    /*
+     * writeRecord() serializes the data into a new record at the end of the used space with the given links, and appendRaw() copies another list's
+     * record into a new record linked after the tail (which is how compact() copies records without deserializing them)
+     */
+
+    private long writeRecord(T data, long prev, long next) {
+        int length = serializer.sizeOf(data);
+        long offset = allocate(length);
+        MappedByteBuffer segment = segment(offset);
+        int position = (int) (offset & (segmentSize - 1));
+
+        segment.putInt(position + LENGTH_AT, length);
+        segment.putInt(position + STATUS_AT, LIVE);
+        segment.putLong(position + PREV_AT, prev);
+        segment.putLong(position + NEXT_AT, next);
+
+        segment.limit(position + RECORD_HEADER_SIZE + length).position(position + RECORD_HEADER_SIZE);
+        serializer.write(data, segment);
+        segment.clear();
+
+        setEnd(offset + recordSize(length));
+        return offset;
+    }
+
+    private void appendRaw(MappedLinkedList<T> source, long sourceOffset) {
+        int length = source.length(sourceOffset);
+        long offset = allocate(length);
+        MappedByteBuffer segment = segment(offset);
+        int position = (int) (offset & (segmentSize - 1));
+
+        segment.putInt(position + LENGTH_AT, length);
+        segment.putInt(position + STATUS_AT, LIVE);
+        segment.putLong(position + PREV_AT, tail);
+        segment.putLong(position + NEXT_AT, NIL);
+
+        MappedByteBuffer from = source.segment(sourceOffset);
+        int fromPosition = (int) (sourceOffset & (source.segmentSize - 1)) + RECORD_HEADER_SIZE;
+        from.limit(fromPosition + length).position(fromPosition);
+        segment.position(position + RECORD_HEADER_SIZE);
+        segment.put(from);
+        from.clear();
+        segment.clear();
+
+        setEnd(offset + recordSize(length));
+
+        if (tail == NIL)
+            setHead(offset);
+        else
+            setNext(tail, offset);
+
+        setTail(offset);
+        setNumElements(numElements + 1);
+    }
+
+    /*
+     * allocate() returns the offset a new record with a payload of the given length goes at
+     * If the record would not fit in what is left of the current segment, it goes at the start of the next segment and the rest of the current one is
+     * counted as dead bytes
+     */
+
+    private long allocate(int length) {
+        long size = recordSize(length);
+
+        if (size > segmentSize - HEADER_SIZE)
+            throw new IllegalArgumentException("Element of " + length + " bytes does not fit in a " + segmentSize + " byte segment");
+
+        long offset = end;
+        long segmentEnd = ((offset >>> segmentShift) + 1) << segmentShift;
+
+        if (offset + size > segmentEnd) {
+            setDeadBytes(deadBytes + segmentEnd - offset);
+            offset = segmentEnd;
+        }
+
+        return offset;
+    }
+
+    /*
+     * unlink() takes a record out of the list, skipping over it in the forward direction first, then fixing the backward direction, and finally marking
+     * the record as deleted and counting its bytes as dead
+     */
+
+    private void unlink(long offset) {
+        long previous = prev(offset);
+        long following = next(offset);
+
+        if (previous == NIL)
+            setHead(following);
+        else
+            setNext(previous, following);
+
+        if (following == NIL)
+            setTail(previous);
+        else
+            setPrev(following, previous);
+
+        MappedByteBuffer segment = segment(offset);
+        segment.putInt((int) (offset & (segmentSize - 1)) + STATUS_AT, DELETED);
+
+        setNumElements(numElements - 1);
+        setDeadBytes(deadBytes + recordSize(length(offset)));
+    }
+
+    /*
+     * read() deserializes the element stored in a record
+     */
+
+    private T read(long offset) {
+        int length = length(offset);
+        MappedByteBuffer segment = segment(offset);
+        int position = (int) (offset & (segmentSize - 1)) + RECORD_HEADER_SIZE;
+
+        segment.limit(position + length).position(position);
+        T data = serializer.read(segment, length);
+        segment.clear();
+
+        return data;
+    }
+
+    /*
+     * segment() returns the mapping for the segment an offset falls in, mapping any segments up to it that have not been mapped yet (mapping past the end
+     * of the file makes the file bigger)
+     */
+
+    private MappedByteBuffer segment(long offset) {
+        int index = (int) (offset >>> segmentShift);
+
+        try {
+            while (segments.size() <= index)
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() << segmentShift, segmentSize));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return segments.get(index);
+    }
+
+    static long recordSize(int length) {
+        return (RECORD_HEADER_SIZE + length + 7) & ~7L;
+    }
+
+    /*
+     * Reading and writing the fields of a record and of the header
+     */
+
+    private int length(long offset) {
+        return segment(offset).getInt((int) (offset & (segmentSize - 1)) + LENGTH_AT);
+    }
+
+    private long prev(long offset) {
+        return segment(offset).getLong((int) (offset & (segmentSize - 1)) + PREV_AT);
+    }
+
+    private long next(long offset) {
+        return segment(offset).getLong((int) (offset & (segmentSize - 1)) + NEXT_AT);
+    }
+
+    private void setPrev(long offset, long prev) {
+        segment(offset).putLong((int) (offset & (segmentSize - 1)) + PREV_AT, prev);
+    }
+
+    private void setNext(long offset, long next) {
+        segment(offset).putLong((int) (offset & (segmentSize - 1)) + NEXT_AT, next);
+    }
+
+    private void setHead(long offset) {
+        head = offset;
+        segment(0).putLong(HEAD_AT, offset);
+    }
+
+    private void setTail(long offset) {
+        tail = offset;
+        segment(0).putLong(TAIL_AT, offset);
+    }
+
+    private void setEnd(long offset) {
+        end = offset;
+        segment(0).putLong(END_AT, offset);
+    }
+
+    private void setNumElements(long count) {
+        numElements = count;
+        segment(0).putLong(COUNT_AT, count);
+    }
+
+    private void setDeadBytes(long bytes) {
+        deadBytes = bytes;
+        segment(0).putLong(DEAD_AT, bytes);
+    }
+}
\ No newline at end of file
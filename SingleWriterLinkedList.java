@@ -0,0 +1,366 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*
+ * SingleWriterLinkedList lets many threads change one LinkedList without any of them ever taking a lock on the list
+ *
+ * When lots of threads share a LinkedList behind a lock, they spend most of their time waiting for each other, and the list's nodes keep bouncing
+ * between the threads' CPU caches
+ * Here only one thread, the writer, ever touches the list
+ * Every other thread just puts a command (insert to the front or tail, insertAfter, insertBefore, delete or deleteAll) into a bounded queue and gets a
+ * CompletableFuture back, which is completed once the writer has applied the command
+ *
+ * The queue is an ArrayBlockingQueue, which is a ring buffer over a fixed array, so adding a command never allocates a queue node, and a producer that
+ * gets too far ahead of the writer waits for room instead of letting the queue grow forever
+ * The writer takes commands out in batches with drainTo(), so it only has to deal with the queue once per batch instead of once per command, and
+ * inside a batch it merges runs of inserts to the same end of the list into a single addAll() / addAllToFront(), which links the whole run in at once
+ *
+ * Commands from one thread are applied in the order they were submitted, and a read() is applied in order with the commands around it, so it sees every
+ * change submitted before it
+ * close() stops the writer once every command submitted before it has been applied
+ */
+
+public class SingleWriterLinkedList<T> implements AutoCloseable {
+
+    enum Kind { INSERT_TO_FRONT, INSERT_TO_TAIL, INSERT_AFTER, INSERT_BEFORE, DELETE, DELETE_ALL, READ, STOP }
+
+    /*
+     * A Command is one change (or read) waiting for the writer: what kind it is, the data it is for, the other data for insertAfter / insertBefore, the
+     * function to run for a read, and the future to complete when it has been applied
+     */
+
+    static final class Command<T> {
+
+        final Kind kind;
+        final T data;
+        final T other;
+        final Function<? super LinkedList<T>, ?> reader;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Command(Kind kind, T data, T other, Function<? super LinkedList<T>, ?> reader) {
+            this.kind = kind;
+            this.data = data;
+            this.other = other;
+            this.reader = reader;
+        }
+    }
+
+    static final int DEFAULT_CAPACITY = 8192;
+    static final int MAX_BATCH = 1024;
+    static final long STOP_RETRY_MILLIS = 10;
+
+    final LinkedList<T> list;
+    final ArrayBlockingQueue<Command<T>> queue;
+    final Thread writer;
+    final ArrayList<Command<T>> batch = new ArrayList<>(MAX_BATCH);
+    final ArrayList<T> run = new ArrayList<>();
+
+    /*
+     * closed is set by close() so no more commands are accepted, and terminated is set by the writer right before it stops, after which any command that
+     * still made it into the queue is failed instead of being left waiting forever
+     */
+
+    volatile boolean closed = false;
+    volatile boolean terminated = false;
+
+    /*
+     * The default constructor creates a new list with a queue of 8192 commands, the other one takes the list for the writer to own (nothing else may
+     * touch it after this) and how many commands the queue can hold
+     * The writer is a daemon thread, so a list that is never closed does not keep the program running
+     */
+
+    public SingleWriterLinkedList() {
+        this(new LinkedList<>(), DEFAULT_CAPACITY);
+    }
+
+    public SingleWriterLinkedList(LinkedList<T> list, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+
+        this.list = list;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::write, "SingleWriterLinkedList-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /*
+     * The changes, which do the same as the LinkedList methods with the same names
+     * delete() completes with whether something was removed, and deleteAll() with how many elements were removed
+     * Each one waits if the queue is full, and throws an IllegalStateException if the list has been closed
+     */
+
+    public CompletableFuture<Void> insertToFront(T data) {
+        return submit(new Command<>(Kind.INSERT_TO_FRONT, data, null, null));
+    }
+
+    public CompletableFuture<Void> insertToTail(T data) {
+        return submit(new Command<>(Kind.INSERT_TO_TAIL, data, null, null));
+    }
+
+    public CompletableFuture<Void> insertAfter(T data, T afterData) {
+        return submit(new Command<>(Kind.INSERT_AFTER, data, afterData, null));
+    }
+
+    public CompletableFuture<Void> insertBefore(T data, T beforeData) {
+        return submit(new Command<>(Kind.INSERT_BEFORE, data, beforeData, null));
+    }
+
+    public CompletableFuture<Boolean> delete(T data) {
+        return submit(new Command<>(Kind.DELETE, data, null, null));
+    }
+
+    public CompletableFuture<Integer> deleteAll(T data) {
+        return submit(new Command<>(Kind.DELETE_ALL, data, null, null));
+    }
+
+    /*
+     * read() runs a function against the list on the writer thread and completes with what it returns, so it can look at the list without racing the
+     * changes
+     * The function must not hold on to the list or its nodes after it returns
+     * search() and toString() are reads
+     */
+
+    public <R> CompletableFuture<R> read(Function<? super LinkedList<T>, ? extends R> reader) {
+        return submit(new Command<>(Kind.READ, null, null, reader));
+    }
+
+    public CompletableFuture<T> search(T data) {
+        return read(list -> list.search(data));
+    }
+
+    public CompletableFuture<String> asString() {
+        return read(LinkedList::toString);
+    }
+
+    /*
+     * close() stops accepting commands, waits for the writer to apply everything that was submitted before it, and then stops the writer
+     * The stop command has to get into the queue even if the queue is full or the closing thread is interrupted (otherwise the writer would wait for it
+     * forever and so would the join), so it keeps offering it until it goes in or the writer has stopped some other way, and only passes the interrupt
+     * on at the end
+     */
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+        }
+
+        Command<T> stop = new Command<>(Kind.STOP, null, null, null);
+        boolean interrupted = false;
+
+        while (writer.isAlive()) {
+            try {
+                if (queue.offer(stop, STOP_RETRY_MILLIS, TimeUnit.MILLISECONDS))
+                    break;
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /*
+     * submit() puts a command into the queue, waiting for room if it is full, and hands back its future
+     * If the writer stopped while the command was going in, whatever is left in the queue is failed here, since the writer will never get to it
+     */
+
+    @SuppressWarnings("unchecked")
+    private <R> CompletableFuture<R> submit(Command<T> command) {
+        if (closed)
+            throw new IllegalStateException("The list has been closed");
+
+        enqueue(command);
+
+        if (terminated)
+            failRemaining();
+
+        return (CompletableFuture<R>) command.result;
+    }
+
+    private void enqueue(Command<T> command) {
+        try {
+            queue.put(command);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            command.result.completeExceptionally(e);
+        }
+    }
+
+    /*
+     * write() is the writer thread: it waits for a command, takes it out along with every other command that is waiting (up to MAX_BATCH), and applies
+     * the whole batch, until it reaches the command that close() put in
+     * However it stops (the stop command, an interrupt, or an Error out of apply()), it fails whatever is left of the batch it was applying and
+     * everything still in the queue on the way out, so no future is left waiting for a writer that is gone
+     */
+
+    private void write() {
+        try {
+            boolean stop = false;
+
+            while (!stop) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                stop = apply(batch);
+                batch.clear();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            terminated = true;
+            for (Command<T> command : batch)
+                command.result.completeExceptionally(new IllegalStateException("The list has been closed"));
+            batch.clear();
+            failRemaining();
+        }
+    }
+
+    /*
+     * apply() applies a batch of commands in order and returns whether it reached the stop command
+     * Anything that came after the stop command (in the batch or still in the queue) is failed, since the writer stops there
+     * A run of two or more inserts to the tail is linked in with one addAll(), and a run of inserts to the front with one addAllToFront() of the run in
+     * reverse (since every insert to the front goes in front of the one before it)
+     * If a command throws an exception, only its own future fails and the rest of the batch carries on
+     * An Error (an OutOfMemoryError, or anything a read function throws that is not an exception) fails the command's future too, but is then thrown on
+     * and stops the writer, since the list may have been left half changed
+     */
+
+    private boolean apply(List<Command<T>> commands) {
+        int size = commands.size();
+        int i = 0;
+
+        while (i < size) {
+            Command<T> command = commands.get(i);
+
+            if (command.kind == Kind.STOP) {
+                command.result.complete(null);
+                for (int j = i + 1; j < size; j ++)
+                    commands.get(j).result.completeExceptionally(new IllegalStateException("The list has been closed"));
+                failRemaining();
+                return true;
+            }
+
+            int end = i + 1;
+            if (command.kind == Kind.INSERT_TO_TAIL || command.kind == Kind.INSERT_TO_FRONT) {
+                while (end < size && commands.get(end).kind == command.kind)
+                    end ++;
+            }
+
+            if (end - i > 1) {
+                applyRun(commands, i, end);
+                i = end;
+                continue;
+            }
+
+            try {
+                command.result.complete(applyOne(command));
+            }
+            catch (Throwable e) {
+                command.result.completeExceptionally(e);
+                if (e instanceof Error)
+                    throw (Error) e;
+            }
+
+            i ++;
+        }
+
+        return false;
+    }
+
+    private void applyRun(List<Command<T>> commands, int from, int to) {
+        boolean toTail = commands.get(from).kind == Kind.INSERT_TO_TAIL;
+
+        if (toTail) {
+            for (int i = from; i < to; i ++)
+                run.add(commands.get(i).data);
+        }
+        else {
+            for (int i = to - 1; i >= from; i --)
+                run.add(commands.get(i).data);
+        }
+
+        try {
+            if (toTail)
+                list.addAll(run);
+            else
+                list.addAllToFront(run);
+
+            for (int i = from; i < to; i ++)
+                commands.get(i).result.complete(null);
+        }
+        catch (Throwable e) {
+            for (int i = from; i < to; i ++)
+                commands.get(i).result.completeExceptionally(e);
+            if (e instanceof Error)
+                throw (Error) e;
+        }
+        finally {
+            run.clear();
+        }
+    }
+
+    private Object applyOne(Command<T> command) {
+        int before = list.numElements;
+
+        switch (command.kind) {
+            case INSERT_TO_FRONT:
+                list.insertToFront(command.data);
+                return null;
+            case INSERT_TO_TAIL:
+                list.insertToTail(command.data);
+                return null;
+            case INSERT_AFTER:
+                list.insertAfter(command.data, command.other);
+                return null;
+            case INSERT_BEFORE:
+                list.insertBefore(command.data, command.other);
+                return null;
+            case DELETE:
+                list.delete(command.data);
+                return list.numElements != before;
+            case DELETE_ALL:
+                list.deleteAll(command.data);
+                return before - list.numElements;
+            default:
+                return command.reader.apply(list);
+        }
+    }
+
+    /*
+     * failRemaining() fails every command still in the queue once the writer has stopped
+     */
+
+    private void failRemaining() {
+        Command<T> command;
+
+        while ((command = queue.poll()) != null)
+            command.result.completeExceptionally(new IllegalStateException("The list has been closed"));
+    }
+}
\ No newline at end of file
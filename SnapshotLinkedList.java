@@ -0,0 +1,432 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * SnapshotLinkedList is a list for when many threads read it and only a few change it
+ *
+ * Sharing a LinkedList between threads means every reader has to take the same lock as the writers, since a reader walking the nodes while a writer is
+ * relinking them can see a half changed list (a next link that was updated but a prev link that was not yet), so readers end up waiting on each other
+ * and on every write
+ *
+ * Here the list is never changed in place
+ * The elements are kept in a persistent balanced tree (an AVL tree ordered by position, where every tree node also knows how many elements are under
+ * it), and a write builds a new version of the tree that copies only the O(log n) tree nodes on the path to the element being changed, while sharing
+ * every other tree node with the old version
+ * The current version is published through a volatile field, so readers never lock: snapshot() just reads that field and gets a Snapshot that will
+ * never change, which can be walked forwards and backwards (or looked up by index in O(log n)) for as long as the reader likes
+ *
+ * Writers are synchronized with each other, so two writes never race to replace the same version
+ * Inserting or removing at an index (including at either end) takes O(log n), delete() and search() still have to walk the elements to find the data
+ * (O(n)), and deleteAll() rebuilds the tree in O(n)
+ */
+
+public class SnapshotLinkedList<T> implements LinkedListInterface<T>, Iterable<T> {
+
+    /*
+     * A Tree is one node of the persistent tree: its element, its left and right subtrees (the elements before and after it), and the size and height
+     * of the subtree it is the root of
+     * Every field is final, so once a Tree has been published it can be read from any thread
+     */
+
+    static final class Tree<T> {
+
+        final T data;
+        final Tree<T> left;
+        final Tree<T> right;
+        final int size;
+        final int height;
+
+        Tree(Tree<T> left, T data, Tree<T> right) {
+            this.data = data;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + 1 + size(right);
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    volatile Tree<T> root;
+
+    /*
+     * snapshot() returns the current version of the list, which later writes will not change
+     */
+
+    public Snapshot<T> snapshot() {
+        return new Snapshot<>(root);
+    }
+
+    /*
+     * The writes all build a new version of the tree from the current one and then publish it
+     *
+     * insertToFront() and insertToTail() insert at index 0 and at the end, insertAt() inserts so that the data ends up at the index
+     * insertAfter() and insertBefore() insert next to the first element equal to the other data, or at the end if there is none (like LinkedList)
+     */
+
+    @Override
+    public synchronized void insertToFront(T data) {
+        root = insert(root, 0, data);
+    }
+
+    @Override
+    public synchronized void insertToTail(T data) {
+        root = insert(root, size(root), data);
+    }
+
+    public synchronized void insertAt(int index, T data) {
+        if (index < 0 || index > size(root))
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size(root));
+
+        root = insert(root, index, data);
+    }
+
+    public synchronized void insertAfter(T data, T afterData) {
+        int index = indexOf(root, afterData);
+        root = insert(root, index < 0 ? size(root) : index + 1, data);
+    }
+
+    public synchronized void insertBefore(T data, T beforeData) {
+        int index = indexOf(root, beforeData);
+        root = insert(root, index < 0 ? size(root) : index, data);
+    }
+
+    /*
+     * addAll() inserts every element to the end of the list, publishing a single new version once they are all in
+     */
+
+    public synchronized void addAll(Iterable<? extends T> elements) {
+        Tree<T> tree = root;
+
+        for (T data : elements)
+            tree = insert(tree, size(tree), data);
+
+        root = tree;
+    }
+
+    /*
+     * delete() removes the first element equal to the data, removeAt() removes the element at an index and returns it
+     * deleteAll() removes every element equal to the data by building a new, perfectly balanced tree out of the elements that are left
+     */
+
+    @Override
+    public synchronized void delete(T data) {
+        int index = indexOf(root, data);
+
+        if (index >= 0)
+            root = remove(root, index);
+    }
+
+    public synchronized T removeAt(int index) {
+        if (index < 0 || index >= size(root))
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size(root));
+
+        T data = get(root, index);
+        root = remove(root, index);
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized void deleteAll(T data) {
+        Tree<T> tree = root;
+        T[] kept = (T[]) new Object[size(tree)];
+        int count = 0;
+
+        for (Iterator<T> iterator = new TreeIterator<>(tree, true); iterator.hasNext(); ) {
+            T element = iterator.next();
+            if (!element.equals(data))
+                kept[count ++] = element;
+        }
+
+        if (count != size(tree))
+            root = build(kept, 0, count);
+    }
+
+    public synchronized void clear() {
+        root = null;
+    }
+
+    /*
+     * The reads all work on a snapshot of the current version, so they never lock and never see a write that is only half done
+     */
+
+    @Override
+    public T search(T data) {
+        return snapshot().search(data);
+    }
+
+    public T getDataAt(int index) {
+        return snapshot().getDataAt(index);
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new TreeIterator<>(root, true);
+    }
+
+    public Iterator<T> descendingIterator() {
+        return new TreeIterator<>(root, false);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    public String toStringReverse() {
+        return snapshot().toStringReverse();
+    }
+
+    @Override
+    public void print() {
+        System.out.println(toString());
+    }
+
+    public void printReverse() {
+        System.out.println(toStringReverse());
+    }
+
+    /*
+     * A Snapshot is one version of the list
+     * It can be read from any number of threads at once, for as long as they like, and always holds exactly the elements the list had when it was taken
+     */
+
+    public static final class Snapshot<T> implements Iterable<T> {
+
+        final Tree<T> root;
+
+        Snapshot(Tree<T> root) {
+            this.root = root;
+        }
+
+        public int size() {
+            return SnapshotLinkedList.size(root);
+        }
+
+        public boolean isEmpty() {
+            return root == null;
+        }
+
+        /*
+         * getDataAt() goes down the tree using the subtree sizes, so it takes O(log n) instead of walking the list, and returns null if there is no
+         * element at that index (like LinkedList.getDataAt())
+         * search() returns the first element equal to the data, or null if there is none
+         */
+
+        public T getDataAt(int index) {
+            if (index < 0 || index >= size())
+                return null;
+
+            return get(root, index);
+        }
+
+        public T search(T data) {
+            for (Iterator<T> iterator = iterator(); iterator.hasNext(); ) {
+                T element = iterator.next();
+                if (element.equals(data))
+                    return element;
+            }
+
+            return null;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new TreeIterator<>(root, true);
+        }
+
+        public Iterator<T> descendingIterator() {
+            return new TreeIterator<>(root, false);
+        }
+
+        /*
+         * toString() and toStringReverse() produce the same output as LinkedList's
+         */
+
+        @Override
+        public String toString() {
+            return render(true);
+        }
+
+        public String toStringReverse() {
+            return render(false);
+        }
+
+        private String render(boolean forward) {
+            StringBuilder string = new StringBuilder();
+
+            try {
+                LinkedList.render(string, new TreeIterator<>(root, forward), forward, size(), -1);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return string.toString();
+        }
+    }
+
+    /*
+     * A TreeIterator walks a tree in order (or in reverse order), keeping the path from the root down to the next element on a stack
+     * An AVL tree is never more than about 1.44 log n deep, so the stack only needs to be as tall as the tree
+     */
+
+    static final class TreeIterator<T> implements Iterator<T> {
+
+        final boolean forward;
+        final Tree<T>[] stack;
+        int depth = 0;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        TreeIterator(Tree<T> root, boolean forward) {
+            this.forward = forward;
+            this.stack = new Tree[height(root)];
+            push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        @Override
+        public T next() {
+            if (depth == 0)
+                throw new NoSuchElementException();
+
+            Tree<T> tree = stack[-- depth];
+            push(forward ? tree.right : tree.left);
+            return tree.data;
+        }
+
+        private void push(Tree<T> tree) {
+            while (tree != null) {
+                stack[depth ++] = tree;
+                tree = forward ? tree.left : tree.right;
+            }
+        }
+    }
+
+    /*
+     * The methods below build new versions of a tree without changing the old one
+     *
+     * insert() and remove() go down to the index, using the size of the left subtree to decide which way to go, and build new tree nodes on the way
+     * back up, rebalancing each one with balance()
+     * When the element being removed has two subtrees, it is replaced by the first element of its right subtree
+     */
+
+    static <T> Tree<T> insert(Tree<T> tree, int index, T data) {
+        if (tree == null)
+            return new Tree<>(null, data, null);
+
+        int leftSize = size(tree.left);
+
+        if (index <= leftSize)
+            return balance(insert(tree.left, index, data), tree.data, tree.right);
+
+        return balance(tree.left, tree.data, insert(tree.right, index - leftSize - 1, data));
+    }
+
+    static <T> Tree<T> remove(Tree<T> tree, int index) {
+        int leftSize = size(tree.left);
+
+        if (index < leftSize)
+            return balance(remove(tree.left, index), tree.data, tree.right);
+        if (index > leftSize)
+            return balance(tree.left, tree.data, remove(tree.right, index - leftSize - 1));
+
+        if (tree.left == null)
+            return tree.right;
+        if (tree.right == null)
+            return tree.left;
+
+        return balance(tree.left, get(tree.right, 0), remove(tree.right, 0));
+    }
+
+    /*
+     * balance() creates the tree node for data with the given subtrees, and if one subtree is two levels taller than the other (which is as far off
+     * as a single insert or remove can make it) it rotates the taller side up so the heights differ by at most one again
+     */
+
+    static <T> Tree<T> balance(Tree<T> left, T data, Tree<T> right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right))
+                return new Tree<>(left.left, left.data, new Tree<>(left.right, data, right));
+
+            Tree<T> middle = left.right;
+            return new Tree<>(new Tree<>(left.left, left.data, middle.left), middle.data, new Tree<>(middle.right, data, right));
+        }
+
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left))
+                return new Tree<>(new Tree<>(left, data, right.left), right.data, right.right);
+
+            Tree<T> middle = right.left;
+            return new Tree<>(new Tree<>(left, data, middle.left), middle.data, new Tree<>(middle.right, right.data, right.right));
+        }
+
+        return new Tree<>(left, data, right);
+    }
+
+    /*
+     * build() creates a perfectly balanced tree out of elements[from] up to elements[to - 1]
+     */
+
+    static <T> Tree<T> build(T[] elements, int from, int to) {
+        if (from >= to)
+            return null;
+
+        int middle = (from + to) >>> 1;
+        return new Tree<>(build(elements, from, middle), elements[middle], build(elements, middle + 1, to));
+    }
+
+    static <T> T get(Tree<T> tree, int index) {
+        while (true) {
+            int leftSize = size(tree.left);
+
+            if (index < leftSize) {
+                tree = tree.left;
+            }
+            else if (index > leftSize) {
+                index -= leftSize + 1;
+                tree = tree.right;
+            }
+            else {
+                return tree.data;
+            }
+        }
+    }
+
+    static <T> int indexOf(Tree<T> tree, T data) {
+        int index = 0;
+
+        for (Iterator<T> iterator = new TreeIterator<>(tree, true); iterator.hasNext(); index ++) {
+            if (iterator.next().equals(data))
+                return index;
+        }
+
+        return -1;
+    }
+
+    static int size(Tree<?> tree) {
+        return tree == null ? 0 : tree.size;
+    }
+
+    static int height(Tree<?> tree) {
+        return tree == null ? 0 : tree.height;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,427 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Random;
+
+/*
+ * SortedLinkedList is a doubly linked list that always keeps its elements in sorted order, with a skip list on top of it to find positions quickly
+ *
+ * Keeping a normal LinkedList sorted means walking from the head calling equals() until the right spot is found, which takes O(n)
+ * Here the elements are still stored in the same doubly linked Node chain (so the list can still be walked forwards and backwards and printed the same
+ * way), but there are also a few levels of "express lanes" above the chain
+ * Each level is a singly linked list of Index entries pointing at some of the nodes below it: roughly every 4th node gets an entry on level 1, every
+ * 16th node on level 2, and so on (which node gets how many levels is decided randomly when it is inserted)
+ *
+ * To find a value, the search starts on the top level and moves right as long as the next entry is still smaller than the value, then drops down a
+ * level and does the same thing, until it reaches the node chain itself, which skips over most of the list and takes O(log n) expected time
+ *
+ * The order comes from a Comparator (or from the elements' natural ordering if none is given), and elements that compare as equal stay in the order
+ * they were inserted
+ */
+
+public class SortedLinkedList<T> implements LinkedListInterface<T> {
+
+    /*
+     * An Index entry is one stop on one of the express lanes: it points at a node in the chain, at the next entry on the same level, and at the entry
+     * for the same node one level down (null on level 1)
+     */
+
+    static class Index<T> {
+
+        final Node<T> node;
+        final Index<T> down;
+        Index<T> right;
+
+        Index(Node<T> node, Index<T> down, Index<T> right) {
+            this.node = node;
+            this.down = down;
+            this.right = right;
+        }
+    }
+
+    static final int MAX_LEVEL = 32;
+
+    final Comparator<? super T> comparator;
+    final Random random = new Random();
+
+    Node<T> head;
+    Node<T> tail;
+    int numElements = 0;
+
+    /*
+     * top is the head entry of the highest level, and levels is how many levels there are
+     * The head entries do not point at a node (their node is null) and stand in front of every other entry on their level
+     */
+
+    Index<T> top = new Index<>(null, null, null);
+    int levels = 1;
+
+    /*
+     * The default constructor sorts by the elements' natural ordering (so they must be Comparable), the other constructor takes the comparator to use
+     */
+
+    public SortedLinkedList() {
+        this(null);
+    }
+
+    public SortedLinkedList(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+        head = null;
+        tail = null;
+    }
+
+    /*
+     * insertSorted() links the data into the chain after every element that is smaller than or equal to it, and then gives the new node a random
+     * number of levels in the skip list
+     *
+     * On the way down, the last entry visited on each level is remembered in preds, since that is where the new node's entry goes on that level
+     * If the new node gets more levels than the list has right now, new head entries are added on top
+     */
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void insertSorted(T data) {
+        Index<T>[] preds = new Index[MAX_LEVEL];
+        Node<T> before = findLast(data, true, preds);
+        Node<T> node = new Node<>(data);
+
+        if (before == null) {
+            node.next = head;
+            if (head != null)
+                head.prev = node;
+            else
+                tail = node;
+            head = node;
+        }
+        else {
+            node.prev = before;
+            node.next = before.next;
+            if (before.next != null)
+                before.next.prev = node;
+            else
+                tail = node;
+            before.next = node;
+        }
+
+        numElements ++;
+
+        int level = randomLevel();
+        while (levels < level) {
+            top = new Index<>(null, top, null);
+            levels ++;
+            preds[levels - 1] = top;
+        }
+
+        Index<T> below = null;
+        for (int i = 1; i < level; i ++) {
+            Index<T> pred = preds[i];
+            below = new Index<>(node, below, pred.right);
+            pred.right = below;
+        }
+    }
+
+    /*
+     * insertToFront() and insertToTail() are only allowed when they do not break the order of the list: the data has to be smaller than or equal to the
+     * head to go in front, and greater than or equal to the tail to go at the end (for example, appending a newer timestamp)
+     * Otherwise they throw an IllegalArgumentException, since insertSorted() is the way to insert data that belongs somewhere in the middle
+     */
+
+    @Override
+    public void insertToFront(T data) {
+        if (head != null && compare(data, head.data) > 0)
+            throw new IllegalArgumentException(data + " cannot go in front of " + head.data + " in a sorted list");
+
+        insertSorted(data);
+    }
+
+    @Override
+    public void insertToTail(T data) {
+        if (tail != null && compare(data, tail.data) < 0)
+            throw new IllegalArgumentException(data + " cannot go after " + tail.data + " in a sorted list");
+
+        insertSorted(data);
+    }
+
+    /*
+     * delete() removes the first element that compares as equal to the data, deleteAll() removes every one of them
+     * On an empty list both return straight away without descending the index (see LinkedListInterface for why nothing is reported)
+     *
+     * The search for the node to delete remembers, on each level, the last entry whose node is smaller than the data
+     * Since the deleted node is the first of its equal elements, if it has an entry on a level, that entry comes right after the remembered one, so it
+     * can be taken out of every level without searching again
+     *
+     * deleteAll() does the same single search, and since the equal elements are all next to each other in the chain, the entries of every one of them
+     * come right after the remembered entry on each level too
+     * So it drops every entry with an equal node from each level, and then cuts the whole run of equal nodes out of the chain in one walk
+     */
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void delete(T data) {
+
+        if (numElements == 0)
+            return;
+
+        Index<T>[] preds = new Index[MAX_LEVEL];
+        Node<T> node = findFirstNotBelow(data, preds);
+
+        if (node == null || compare(node.data, data) != 0)
+            return;
+
+        for (int i = 1; i < levels; i ++) {
+            Index<T> pred = preds[i];
+            if (pred.right != null && pred.right.node == node)
+                pred.right = pred.right.right;
+        }
+        while (levels > 1 && top.right == null) {
+            top = top.down;
+            levels --;
+        }
+
+        if (node.prev == null)
+            head = node.next;
+        else
+            node.prev.next = node.next;
+
+        if (node.next == null)
+            tail = node.prev;
+        else
+            node.next.prev = node.prev;
+
+        node.data = null;
+        node.next = null;
+        node.prev = null;
+        numElements --;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void deleteAll(T data) {
+
+        if (numElements == 0)
+            return;
+
+        Index<T>[] preds = new Index[MAX_LEVEL];
+        Node<T> first = findFirstNotBelow(data, preds);
+
+        if (first == null || compare(first.data, data) != 0)
+            return;
+
+        for (int i = 1; i < levels; i ++) {
+            Index<T> pred = preds[i];
+            while (pred.right != null && compare(pred.right.node.data, data) == 0)
+                pred.right = pred.right.right;
+        }
+        while (levels > 1 && top.right == null) {
+            top = top.down;
+            levels --;
+        }
+
+        Node<T> before = first.prev;
+        Node<T> node = first;
+
+        while (node != null && compare(node.data, data) == 0) {
+            Node<T> next = node.next;
+            node.data = null;
+            node.next = null;
+            node.prev = null;
+            numElements --;
+            node = next;
+        }
+
+        if (before == null)
+            head = node;
+        else
+            before.next = node;
+
+        if (node == null)
+            tail = before;
+        else
+            node.prev = before;
+    }
+
+    /*
+     * search() returns the first element that compares as equal to the data, or null if there is none
+     */
+
+    @Override
+    public T search(T data) {
+        Node<T> node = findFirstNotBelow(data, null);
+
+        if (node == null || compare(node.data, data) != 0)
+            return null;
+
+        return node.data;
+    }
+
+    /*
+     * floor() returns the greatest element that is smaller than or equal to the data, and ceiling() returns the smallest element that is greater than or
+     * equal to it
+     * Either one returns null if there is no such element
+     */
+
+    public T floor(T data) {
+        Node<T> node = findLast(data, true, null);
+        return node == null ? null : node.data;
+    }
+
+    public T ceiling(T data) {
+        Node<T> node = findFirstNotBelow(data, null);
+        return node == null ? null : node.data;
+    }
+
+    /*
+     * subList() returns a new LinkedList with every element from fromData (inclusive) up to toData (exclusive), in order
+     * It finds where the range starts through the skip list, and then only walks the nodes that are inside the range
+     */
+
+    public LinkedList<T> subList(T fromData, T toData) {
+        LinkedList<T> range = new LinkedList<>();
+
+        for (Node<T> node = findFirstNotBelow(fromData, null); node != null && compare(node.data, toData) < 0; node = node.next)
+            range.insertToTail(node.data);
+
+        return range;
+    }
+
+    /*
+     * getDataAt() walks from whichever end of the chain is closer to the index, and returns null if there is no element at that index
+     */
+
+    public T getDataAt(int index) {
+        if (index < 0 || index >= numElements)
+            return null;
+
+        Node<T> current;
+
+        if (index < numElements / 2) {
+            current = head;
+            for (int i = 0; i < index; i ++)
+                current = current.next;
+        }
+        else {
+            current = tail;
+            for (int i = numElements - 1; i > index; i --)
+                current = current.prev;
+        }
+
+        return current.data;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return numElements == 0;
+    }
+
+    public int size() {
+        return numElements;
+    }
+
+    /*
+     * toString(), toStringReverse(), print() and printReverse() walk the node chain and produce the same output as LinkedList, so the elements come out
+     * in sorted order (or in reverse sorted order)
+     */
+
+    @Override
+    public String toString() {
+        StringBuilder string = new StringBuilder();
+
+        try {
+            LinkedList.render(string, head, true, numElements, -1);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return string.toString();
+    }
+
+    public String toStringReverse() {
+        StringBuilder string = new StringBuilder();
+
+        try {
+            LinkedList.render(string, tail, false, numElements, -1);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return string.toString();
+    }
+
+    @Override
+    public void print() {
+        System.out.println(toString());
+    }
+
+    public void printReverse() {
+        System.out.println(toStringReverse());
+    }
+
+    /*
+     * findLast() goes down through the skip list and then along the chain to the last node that is smaller than the data (or smaller than or equal to it
+     * if inclusive is true), and returns null if every node is bigger
+     * findFirstNotBelow() returns the node right after the last node that is smaller than the data, which is the first node that is greater than or
+     * equal to it (or null if there is none)
+     *
+     * If preds is passed in, the last entry visited on every level is stored in it
+     */
+
+    private Node<T> findLast(T data, boolean inclusive, Index<T>[] preds) {
+        Index<T> index = top;
+        Node<T> node = null;
+
+        for (int level = levels - 1; level >= 1; level --) {
+            while (index.right != null && before(index.right.node.data, data, inclusive))
+                index = index.right;
+            if (preds != null)
+                preds[level] = index;
+            node = index.node;
+            index = index.down;
+        }
+
+        Node<T> next = node == null ? head : node.next;
+
+        while (next != null && before(next.data, data, inclusive)) {
+            node = next;
+            next = next.next;
+        }
+
+        return node;
+    }
+
+    private Node<T> findFirstNotBelow(T data, Index<T>[] preds) {
+        Node<T> node = findLast(data, false, preds);
+        return node == null ? head : node.next;
+    }
+
+    private boolean before(T element, T data, boolean inclusive) {
+        int comparison = compare(element, data);
+        return inclusive ? comparison <= 0 : comparison < 0;
+    }
+
+    /*
+     * compare() uses the comparator if there is one, or else the elements' natural ordering
+     */
+
+    @SuppressWarnings("unchecked")
+    int compare(T a, T b) {
+        if (comparator != null)
+            return comparator.compare(a, b);
+
+        return ((Comparable<? super T>) a).compareTo(b);
+    }
+
+    /*
+     * randomLevel() decides how many levels a new node gets: every node is on level 0 (the chain itself), and each extra level has a 1 in 4 chance
+     */
+
+    private int randomLevel() {
+        int level = 1;
+
+        while (level < MAX_LEVEL && random.nextInt(4) == 0)
+            level ++;
+
+        return level;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,425 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+/*
+ * An unrolled linked list is a linked list where each node (called a chunk here) holds a small array of elements instead of a single element
+ *
+ * In the normal LinkedList every element pays for a whole Node object (the object header plus the data, next and prev references), and walking the list
+ * jumps to a new spot in memory for every single element
+ * Here the elements sit next to each other in each chunk's array, so a chunk of 64 elements only pays for one chunk object and one array, and walking
+ * the list mostly reads through arrays instead of following a link for every element
+ *
+ * Each chunk has a fixed capacity
+ * When an element needs to go into a chunk that is already full, the chunk is split into two half full chunks (or a new chunk is started if the element
+ * is going on the very end)
+ * When deleting leaves a chunk less than half full, it borrows elements from the chunk after it, or merges with it if both fit into one chunk, so the
+ * chunks stay at least half full and the memory used per element stays low
+ */
+
+public class UnrolledLinkedList<T> implements LinkedListInterface<T> {
+
+    /*
+     * A chunk stores its elements in the first count slots of its array, in list order, and links to the chunks before and after it just like a Node
+     */
+
+    static class Chunk<T> {
+
+        Object[] elements;
+        int count = 0;
+        Chunk<T> next;
+        Chunk<T> prev;
+
+        Chunk(int capacity) {
+            elements = new Object[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int i) {
+            return (T) elements[i];
+        }
+    }
+
+    static final int DEFAULT_CHUNK_CAPACITY = 64;
+
+    Chunk<T> head;
+    Chunk<T> tail;
+    int numElements = 0;
+    final int chunkCapacity;
+
+    /*
+     * The default constructor uses chunks of 64 elements, the other constructor lets the user pick the chunk capacity (it must be at least 2 so a full
+     * chunk can be split in half)
+     */
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int chunkCapacity) {
+        if (chunkCapacity < 2)
+            throw new IllegalArgumentException("Chunk capacity must be at least 2: " + chunkCapacity);
+
+        this.chunkCapacity = chunkCapacity;
+        head = null;
+        tail = null;
+    }
+
+    /*
+     * insertToFront() puts the data in the first slot of the head chunk, insertToTail() puts it after the last element of the tail chunk
+     * If the list is empty, a first chunk is created for the data
+     */
+
+    @Override
+    public void insertToFront(T data) {
+        if (isEmpty())
+            linkChunkAfter(new Chunk<>(chunkCapacity), null);
+
+        insertAt(head, 0, data);
+    }
+
+    @Override
+    public void insertToTail(T data) {
+        if (isEmpty())
+            linkChunkAfter(new Chunk<>(chunkCapacity), null);
+
+        insertAt(tail, tail.count, data);
+    }
+
+    /*
+     * insertAfter() and insertBefore() find the chunk holding the first match of the data to insert after / before, and the position of the match in
+     * that chunk, and insert the new data right after / right before it
+     * Just like in LinkedList, if the data is not in the list the new data is inserted to the end of the list
+     */
+
+    public void insertAfter(T data, T afterData) {
+        Chunk<T> chunk = chunkOf(afterData);
+
+        if (chunk == null)
+            insertToTail(data);
+        else
+            insertAt(chunk, positionIn(chunk, afterData) + 1, data);
+    }
+
+    public void insertBefore(T data, T beforeData) {
+        Chunk<T> chunk = chunkOf(beforeData);
+
+        if (chunk == null)
+            insertToTail(data);
+        else
+            insertAt(chunk, positionIn(chunk, beforeData), data);
+    }
+
+    /*
+     * delete() removes the first element matching the data, removeAt() shifts the rest of that chunk down and rebalances it with the chunk after it
+     * With no chunks there is nothing to look through, so deleting on an empty list just returns (see LinkedListInterface for why there is no event)
+     */
+
+    @Override
+    public void delete(T data) {
+
+        if (numElements == 0)
+            return;
+
+        Chunk<T> chunk = chunkOf(data);
+
+        if (chunk != null)
+            removeAt(chunk, positionIn(chunk, data));
+    }
+
+    /*
+     * deleteAll() goes through every chunk once, sliding the elements it keeps down over the ones being deleted
+     * A chunk left empty is unlinked, and a chunk whose remaining elements fit into the (already processed) chunk before it is merged into that chunk,
+     * so the list stays compact without a second pass
+     */
+
+    public void deleteAll(T data) {
+
+        if (numElements == 0)
+            return;
+
+        Chunk<T> chunk = head;
+
+        while (chunk != null) {
+            Chunk<T> next = chunk.next;
+            int kept = 0;
+
+            for (int i = 0; i < chunk.count; i ++) {
+                if (!chunk.elements[i].equals(data))
+                    chunk.elements[kept ++] = chunk.elements[i];
+            }
+            for (int i = kept; i < chunk.count; i ++)
+                chunk.elements[i] = null;
+
+            numElements -= chunk.count - kept;
+            chunk.count = kept;
+
+            if (chunk.count == 0)
+                unlinkChunk(chunk);
+            else if (chunk.prev != null && chunk.prev.count + chunk.count <= chunkCapacity)
+                mergeIntoPrevious(chunk);
+
+            chunk = next;
+        }
+    }
+
+    /*
+     * getDataAt() skips whole chunks at a time using their counts until it reaches the chunk holding the index, then reads the element straight out of
+     * that chunk's array
+     * If there is no element at that index, null is returned
+     */
+
+    public T getDataAt(int index) {
+        if (index < 0 || index >= numElements)
+            return null;
+
+        Chunk<T> chunk = head;
+
+        while (index >= chunk.count) {
+            index -= chunk.count;
+            chunk = chunk.next;
+        }
+
+        return chunk.get(index);
+    }
+
+    /*
+     * search() returns the first element matching the data, or null if there is none
+     */
+
+    @Override
+    public T search(T data) {
+        Chunk<T> chunk = chunkOf(data);
+
+        if (chunk == null)
+            return null;
+
+        return chunk.get(positionIn(chunk, data));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return numElements == 0;
+    }
+
+    /*
+     * toString() and toStringReverse() use the same format as LinkedList, walking the chunks forwards or backwards and each chunk's array in the same
+     * direction
+     */
+
+    @Override
+    public String toString() {
+        if (isEmpty())
+            return "[]\nSize: 0";
+
+        StringBuilder string = new StringBuilder("[");
+        boolean first = true;
+
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i ++) {
+                if (!first)
+                    string.append(" -> ");
+                first = false;
+                string.append(chunk.elements[i]);
+            }
+        }
+
+        return string.append("]\nSize: ").append(numElements).toString();
+    }
+
+    public String toStringReverse() {
+        if (isEmpty())
+            return "[]\nSize: 0";
+
+        StringBuilder string = new StringBuilder("[");
+        boolean first = true;
+
+        for (Chunk<T> chunk = tail; chunk != null; chunk = chunk.prev) {
+            for (int i = chunk.count - 1; i >= 0; i --) {
+                if (!first)
+                    string.append(" <- ");
+                first = false;
+                string.append(chunk.elements[i]);
+            }
+        }
+
+        return string.append("]\nSize: ").append(numElements).toString();
+    }
+
+    @Override
+    public void print() {
+        System.out.println(toString());
+    }
+
+    public void printReverse() {
+        System.out.println(toStringReverse());
+    }
+
+    /*
+     * chunkOf() returns the first chunk holding an element matching the data (or null), and positionIn() returns where in that chunk the first match is
+     */
+
+    private Chunk<T> chunkOf(T data) {
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            if (positionIn(chunk, data) >= 0)
+                return chunk;
+        }
+
+        return null;
+    }
+
+    private int positionIn(Chunk<T> chunk, T data) {
+        for (int i = 0; i < chunk.count; i ++) {
+            if (chunk.elements[i].equals(data))
+                return i;
+        }
+
+        return -1;
+    }
+
+    /*
+     * insertAt() puts the data at a position inside a chunk (position == count means after its last element)
+     *
+     * If the chunk has room, the elements from that position on are shifted up by one to make space
+     * If the chunk is full and the data is going on its very end, it is put at the front of the next chunk if that one has room, or in a new chunk after
+     * this one, so appending to the tail fills chunks completely instead of leaving them half full
+     * The same goes for putting data at the very front of a full chunk, which goes on the end of the chunk before it or into a new chunk before this one
+     * Otherwise the full chunk is split in half, and the data is inserted into whichever half the position now falls in
+     */
+
+    private void insertAt(Chunk<T> chunk, int position, T data) {
+        if (chunk.count == chunkCapacity) {
+            if (position == chunkCapacity) {
+                if (chunk.next == null || chunk.next.count == chunkCapacity)
+                    linkChunkAfter(new Chunk<>(chunkCapacity), chunk);
+                chunk = chunk.next;
+                position = 0;
+            }
+            else if (position == 0) {
+                if (chunk.prev == null || chunk.prev.count == chunkCapacity)
+                    linkChunkAfter(new Chunk<>(chunkCapacity), chunk.prev);
+                chunk = chunk.prev;
+                position = chunk.count;
+            }
+            else {
+                Chunk<T> upper = split(chunk);
+                if (position > chunk.count) {
+                    position -= chunk.count;
+                    chunk = upper;
+                }
+            }
+        }
+
+        System.arraycopy(chunk.elements, position, chunk.elements, position + 1, chunk.count - position);
+        chunk.elements[position] = data;
+        chunk.count ++;
+        numElements ++;
+    }
+
+    /*
+     * removeAt() takes the element at a position out of a chunk by shifting everything after it down by one
+     *
+     * If the chunk is now empty it is unlinked
+     * If it is now less than half full, it is merged with the chunk after it when both fit into one chunk, otherwise it borrows enough elements from the
+     * front of the chunk after it to even the two chunks out
+     */
+
+    private void removeAt(Chunk<T> chunk, int position) {
+        System.arraycopy(chunk.elements, position + 1, chunk.elements, position, chunk.count - position - 1);
+        chunk.count --;
+        chunk.elements[chunk.count] = null;
+        numElements --;
+
+        if (chunk.count == 0) {
+            unlinkChunk(chunk);
+            return;
+        }
+
+        Chunk<T> next = chunk.next;
+
+        if (chunk.count >= chunkCapacity / 2 || next == null)
+            return;
+
+        if (chunk.count + next.count <= chunkCapacity) {
+            mergeIntoPrevious(next);
+        }
+        else {
+            int moved = (next.count - chunk.count) / 2;
+            System.arraycopy(next.elements, 0, chunk.elements, chunk.count, moved);
+            System.arraycopy(next.elements, moved, next.elements, 0, next.count - moved);
+            for (int i = next.count - moved; i < next.count; i ++)
+                next.elements[i] = null;
+            chunk.count += moved;
+            next.count -= moved;
+        }
+    }
+
+    /*
+     * split() moves the upper half of a full chunk into a new chunk linked right after it and returns the new chunk
+     */
+
+    private Chunk<T> split(Chunk<T> chunk) {
+        Chunk<T> upper = new Chunk<>(chunkCapacity);
+        int keep = chunk.count / 2;
+
+        System.arraycopy(chunk.elements, keep, upper.elements, 0, chunk.count - keep);
+        for (int i = keep; i < chunk.count; i ++)
+            chunk.elements[i] = null;
+        upper.count = chunk.count - keep;
+        chunk.count = keep;
+
+        linkChunkAfter(upper, chunk);
+        return upper;
+    }
+
+    /*
+     * mergeIntoPrevious() appends all of a chunk's elements to the chunk before it and unlinks the (now empty) chunk
+     */
+
+    private void mergeIntoPrevious(Chunk<T> chunk) {
+        Chunk<T> prev = chunk.prev;
+
+        System.arraycopy(chunk.elements, 0, prev.elements, prev.count, chunk.count);
+        prev.count += chunk.count;
+        chunk.count = 0;
+        unlinkChunk(chunk);
+    }
+
+    /*
+     * linkChunkAfter() links a chunk in right after another chunk (or as the new head when there is no chunk to link it after) and unlinkChunk() takes
+     * a chunk out of the list, the same way LinkedList links and unlinks its nodes
+     */
+
+    private void linkChunkAfter(Chunk<T> chunk, Chunk<T> current) {
+        if (current == null) {
+            chunk.next = head;
+            if (head != null)
+                head.prev = chunk;
+            else
+                tail = chunk;
+            head = chunk;
+            return;
+        }
+
+        chunk.prev = current;
+        chunk.next = current.next;
+        if (current.next != null)
+            current.next.prev = chunk;
+        else
+            tail = chunk;
+        current.next = chunk;
+    }
+
+    private void unlinkChunk(Chunk<T> chunk) {
+        if (chunk.prev == null)
+            head = chunk.next;
+        else
+            chunk.prev.next = chunk.next;
+
+        if (chunk.next == null)
+            tail = chunk.prev;
+        else
+            chunk.next.prev = chunk.prev;
+
+        chunk.next = null;
+        chunk.prev = null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * AllocationBenchmark runs a queue-like workload, insertToTail() followed by delete() of the head, over and over, with node recycling off (a pool
+ * capacity of 0) and on
+ * Run it with -prof gc to get the bytes allocated and the garbage collections per operation next to the time
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class AllocationBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    @Param({ "0", "1024" })
+    public int poolCapacity;
+
+    Integer[] values;
+    LinkedList<Integer> list;
+    int next = 0;
+
+    @Setup
+    public void setUp() {
+        values = new Integer[size];
+        list = new LinkedList<>();
+
+        list.setNodePoolCapacity(poolCapacity);
+        for (int i = 0; i < size; i ++) {
+            values[i] = i;
+            list.insertToTail(values[i]);
+        }
+    }
+
+    @Benchmark
+    public void insertAndDelete() {
+        Integer value = values[next];
+        next = next + 1 == size ? 0 : next + 1;
+
+        list.insertToTail(value);
+        list.delete(value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * IndexBenchmark runs the GET_DATA_AT and TO_STRING operations, which walk the list by position rather than by value
+ * ArrayDeque does not support getDataAt(), so it is left out here
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IndexBenchmark extends ListState {
+
+    @Param({ "LinkedList", "java.util.LinkedList" })
+    public String implementation;
+
+    Subject<Object> subject;
+
+    @Setup
+    public void setUp() {
+        createValues();
+        subject = filled(implementation, present, Subject.Operation.GET_DATA_AT, Subject.Operation.TO_STRING);
+    }
+
+    @Benchmark
+    public Object getDataAt() {
+        int probe = next();
+        return Subject.Operation.GET_DATA_AT.run(subject, probes[probe], fresh, indexes[probe]);
+    }
+
+    @Benchmark
+    public Object render() {
+        return Subject.Operation.TO_STRING.run(subject, null, fresh, 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * InsertBenchmark runs the operations that grow the list
+ *
+ * A timed benchmark would keep inserting for as long as an iteration lasts and end up measuring a list many times the size it started at, so these run
+ * as single shots of BATCH inserts each, on a list that is filled again before every iteration
+ * The score is the time for the whole batch, so divide it by BATCH for the time per insert
+ * ArrayDeque does not support insertAfter() / insertBefore(), so it is left out here
+ */
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, batchSize = InsertBenchmark.BATCH)
+@Measurement(iterations = 5, batchSize = InsertBenchmark.BATCH)
+public class InsertBenchmark extends ListState {
+
+    static final int BATCH = 1000;
+
+    @Param({ "LinkedList", "java.util.LinkedList" })
+    public String implementation;
+
+    @Param({ "1.0", "0.0" })
+    public double hitRatio;
+
+    Subject<Object> subject;
+
+    @Override
+    double hitRatio() {
+        return hitRatio;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        createValues();
+    }
+
+    @Setup(Level.Iteration)
+    public void refill() {
+        subject = filled(implementation, present, Subject.Operation.INSERT_TO_FRONT, Subject.Operation.INSERT_TO_TAIL, Subject.Operation.INSERT_AFTER,
+                Subject.Operation.INSERT_BEFORE);
+    }
+
+    @Benchmark
+    public void insertToFront() {
+        Subject.Operation.INSERT_TO_FRONT.run(subject, null, fresh, 0);
+    }
+
+    @Benchmark
+    public void insertToTail() {
+        Subject.Operation.INSERT_TO_TAIL.run(subject, null, fresh, 0);
+    }
+
+    @Benchmark
+    public void insertAfter() {
+        int probe = next();
+        Subject.Operation.INSERT_AFTER.run(subject, probes[probe], fresh, indexes[probe]);
+    }
+
+    @Benchmark
+    public void insertBefore() {
+        int probe = next();
+        Subject.Operation.INSERT_BEFORE.run(subject, probes[probe], fresh, indexes[probe]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * ListState is what the operation benchmarks have in common: the list size and element type they run with, the values to fill the list with and to look
+ * up, and a fresh list of the implementation being measured
+ *
+ * The values 0 to size - 1 go in the list and the values from size up are guaranteed misses, and the probe values and indexes are picked up front
+ * (PROBES of them, with a fixed seed) so picking them is not part of what gets measured
+ * Every benchmark method takes the next probe with next(), which just cycles through them
+ * Each benchmark's own @Setup method calls createValues() before building its list, so the values are always there first
+ *
+ * The sizes go up to 10M, where a list and its values take a few GB, so the benchmarks with a size fork their JVM with -Xmx8g (add -p size=1000 or
+ * similar to leave the big sizes out on a smaller machine)
+ */
+
+@State(Scope.Thread)
+public abstract class ListState {
+
+    static final int PROBES = 4096;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    @Param({ "Integer", "String" })
+    public String type;
+
+    Object[] present;
+    Object[] absent;
+    Object[] probes;
+    int[] indexes;
+    Object fresh;
+    int next = 0;
+
+    /*
+     * hitRatio() is how many of the probes should be in the list (the benchmarks that look up values make it a @Param)
+     */
+
+    double hitRatio() {
+        return 1.0;
+    }
+
+    void createValues() {
+        present = new Object[size];
+        absent = new Object[size];
+
+        for (int i = 0; i < size; i ++) {
+            present[i] = element(i);
+            absent[i] = element(size + i);
+        }
+        fresh = element(-1);
+
+        Random random = new Random(42);
+        probes = new Object[PROBES];
+        indexes = new int[PROBES];
+
+        for (int i = 0; i < PROBES; i ++) {
+            probes[i] = random.nextDouble() < hitRatio() ? present[random.nextInt(size)] : absent[random.nextInt(size)];
+            indexes[i] = random.nextInt(size);
+        }
+    }
+
+    Object element(int i) {
+        return type.equals("Integer") ? Integer.valueOf(i) : "key-" + i;
+    }
+
+    int next() {
+        int probe = next;
+        next = (next + 1) & (PROBES - 1);
+        return probe;
+    }
+
+    /*
+     * filled() returns a new Subject of the implementation holding the present values, after checking that it supports every operation the benchmark
+     * is going to run
+     */
+
+    static Subject<Object> filled(String implementation, Object[] present, Subject.Operation... operations) {
+        Subject<Object> subject;
+
+        switch (implementation) {
+            case "LinkedList":
+                subject = Subject.linkedList();
+                break;
+            case "java.util.LinkedList":
+                subject = Subject.javaUtilLinkedList();
+                break;
+            case "ArrayDeque":
+                subject = Subject.arrayDeque();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+
+        for (Subject.Operation operation : operations)
+            if (!subject.supports(operation))
+                throw new IllegalArgumentException(implementation + " does not support " + operation);
+
+        for (Object data : present)
+            subject.insertToTail(data);
+
+        return subject;
+    }
+}
\ No newline at end of file
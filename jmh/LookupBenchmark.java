@@ -0,0 +1,63 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * LookupBenchmark runs the SEARCH, DELETE and DELETE_ALL operations for every implementation and hit ratio
+ * delete() and deleteAll() put the value back at the tail after a hit so the list keeps its size (see Subject.Operation)
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LookupBenchmark extends ListState {
+
+    @Param({ "LinkedList", "java.util.LinkedList", "ArrayDeque" })
+    public String implementation;
+
+    @Param({ "1.0", "0.5", "0.0" })
+    public double hitRatio;
+
+    Subject<Object> subject;
+
+    @Override
+    double hitRatio() {
+        return hitRatio;
+    }
+
+    @Setup
+    public void setUp() {
+        createValues();
+        subject = filled(implementation, present, Subject.Operation.SEARCH, Subject.Operation.DELETE, Subject.Operation.DELETE_ALL);
+    }
+
+    @Benchmark
+    public Object search() {
+        int probe = next();
+        return Subject.Operation.SEARCH.run(subject, probes[probe], fresh, indexes[probe]);
+    }
+
+    @Benchmark
+    public void delete() {
+        int probe = next();
+        Subject.Operation.DELETE.run(subject, probes[probe], fresh, indexes[probe]);
+    }
+
+    @Benchmark
+    public void deleteAll() {
+        int probe = next();
+        Subject.Operation.DELETE_ALL.run(subject, probes[probe], fresh, indexes[probe]);
+    }
+}
\ No newline at end of file
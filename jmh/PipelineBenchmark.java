@@ -0,0 +1,97 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * PipelineBenchmark runs two transformations over a list of Integers: the sum workload (filter + map + sum over every element) and the first
+ * workload (map + filter + the first match halfway through the list), done eagerly with a new LinkedList after every step, with a ListPipeline, with a
+ * parallel ListPipeline (sum only), and with LinkedList.stream()
+ * The scores are per run over the whole list, so divide by the size for the time per element
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class PipelineBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    LinkedList<Integer> list;
+    int half;
+
+    @Setup
+    public void setUp() {
+        list = new LinkedList<>();
+        for (int i = 0; i < size; i ++)
+            list.insertToTail(i);
+        half = size / 2;
+    }
+
+    @Benchmark
+    public long eagerSum() {
+        LinkedList<Integer> filtered = new LinkedList<>();
+        for (Integer value : list)
+            if (value % 3 == 0)
+                filtered.insertToTail(value);
+        LinkedList<Long> mapped = new LinkedList<>();
+        for (Integer value : filtered)
+            mapped.insertToTail(value * 2L);
+        long sum = 0;
+        for (Long value : mapped)
+            sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public long pipelineSum() {
+        return list.pipeline().filter(value -> value % 3 == 0).map(value -> value * 2L).reduce(0L, Long::sum);
+    }
+
+    @Benchmark
+    public long parallelPipelineSum() {
+        return list.pipeline().parallel().filter(value -> value % 3 == 0).map(value -> value * 2L).reduce(0L, Long::sum);
+    }
+
+    @Benchmark
+    public long streamSum() {
+        return list.stream().filter(value -> value % 3 == 0).map(value -> value * 2L).reduce(0L, Long::sum);
+    }
+
+    @Benchmark
+    public Integer eagerFirst() {
+        LinkedList<Integer> mapped = new LinkedList<>();
+        for (Integer value : list)
+            mapped.insertToTail(value + 1);
+        LinkedList<Integer> filtered = new LinkedList<>();
+        for (Integer value : mapped)
+            if (value > half)
+                filtered.insertToTail(value);
+        return filtered.getDataAt(0);
+    }
+
+    @Benchmark
+    public Integer pipelineFirst() {
+        return list.pipeline().map(value -> value + 1).filter(value -> value > half).findFirst();
+    }
+
+    @Benchmark
+    public Integer streamFirst() {
+        return list.stream().map(value -> value + 1).filter(value -> value > half).findFirst().orElse(null);
+    }
+}
\ No newline at end of file
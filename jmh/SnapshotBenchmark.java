@@ -0,0 +1,103 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * SnapshotBenchmark has reader threads that keep reading random indexes while one writer thread keeps inserting to the tail and removing the head,
+ * once with a SnapshotLinkedList and once with a LinkedList behind a lock
+ * JMH reports the reads and writes per second of each group separately
+ * The groups run 4 readers and 1 writer, and -tg changes that (for example -tg 8,1 for 8 readers)
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SnapshotBenchmark {
+
+    @State(Scope.Group)
+    public static class Snapshots {
+
+        @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+        public int size;
+
+        SnapshotLinkedList<Integer> list;
+        int next;
+
+        @Setup
+        public void setUp() {
+            list = new SnapshotLinkedList<>();
+            for (int i = 0; i < size; i ++)
+                list.insertToTail(i);
+            next = size;
+        }
+    }
+
+    @State(Scope.Group)
+    public static class Locked {
+
+        @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+        public int size;
+
+        LinkedList<Integer> list;
+        int next;
+
+        @Setup
+        public void setUp() {
+            list = new LinkedList<>();
+            for (int i = 0; i < size; i ++)
+                list.insertToTail(i);
+            next = size;
+        }
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(4)
+    public Integer snapshotRead(Snapshots state) {
+        return state.list.getDataAt(ThreadLocalRandom.current().nextInt(state.size));
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public void snapshotWrite(Snapshots state) {
+        state.list.insertToTail(state.next ++);
+        state.list.removeAt(0);
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(4)
+    public Integer lockedRead(Locked state) {
+        synchronized (state.list) {
+            return state.list.getDataAt(ThreadLocalRandom.current().nextInt(state.size));
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public void lockedWrite(Locked state) {
+        synchronized (state.list) {
+            state.list.insertToTail(state.next ++);
+            state.list.removeAt(0);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.ArrayDeque;
+
+/*
+ * A Subject wraps one list implementation so every benchmark can run the same operation no matter which list is behind it
+ * Not every implementation has an equivalent for every operation, so each one says which operations it supports, and ListState.filled() refuses to
+ * build a subject for a benchmark that needs an operation it does not support (the benchmarks only list the implementations that support them, so
+ * that only happens when an implementation is passed in with -p)
+ */
+
+interface Subject<E> {
+
+    /*
+     * The operations the benchmarks run against a subject, each returning what it read (or null) so a benchmark can hand it back to JMH
+     * delete() and deleteAll() put the value back at the tail after a hit, so the list keeps (roughly) the same size over the whole measurement (the
+     * search() that tells them whether it was a hit is part of the score, so compare them between implementations rather than against search())
+     */
+
+    enum Operation {
+
+        INSERT_TO_FRONT {
+            <E> Object run(Subject<E> subject, E probe, E fresh, int index) {
+                subject.insertToFront(fresh);
+                return null;
+            }
+        },
+        INSERT_TO_TAIL {
+            <E> Object run(Subject<E> subject, E probe, E fresh, int index) {
+                subject.insertToTail(fresh);
+                return null;
+            }
+        },
+        INSERT_AFTER {
+            <E> Object run(Subject<E> subject, E probe, E fresh, int index) {
+                subject.insertAfter(fresh, probe);
+                return null;
+            }
+        },
+        INSERT_BEFORE {
+            <E> Object run(Subject<E> subject, E probe, E fresh, int index) {
+                subject.insertBefore(fresh, probe);
+                return null;
+            }
+        },
+        DELETE {
+            <E> Object run(Subject<E> subject, E probe, E fresh, int index) {
+                if (subject.search(probe) != null) {
+                    subject.delete(probe);
+                    subject.insertToTail(probe);
+                }
+                else {
+                    subject.delete(probe);
+                }
+                return null;
+            }
+        },
+        DELETE_ALL {
+            <E> Object run(Subject<E> subject, E probe, E fresh, int index) {
+                if (subject.search(probe) != null) {
+                    subject.deleteAll(probe);
+                    subject.insertToTail(probe);
+                }
+                else {
+                    subject.deleteAll(probe);
+                }
+                return null;
+            }
+        },
+        SEARCH {
+            <E> Object run(Subject<E> subject, E probe, E fresh, int index) {
+                return subject.search(probe);
+            }
+        },
+        GET_DATA_AT {
+            <E> Object run(Subject<E> subject, E probe, E fresh, int index) {
+                return subject.getDataAt(index);
+            }
+        },
+        TO_STRING {
+            <E> Object run(Subject<E> subject, E probe, E fresh, int index) {
+                return subject.render();
+            }
+        };
+
+        abstract <E> Object run(Subject<E> subject, E probe, E fresh, int index);
+    }
+
+    boolean supports(Operation operation);
+
+    void insertToFront(E data);
+
+    void insertToTail(E data);
+
+    void insertAfter(E data, E afterData);
+
+    void insertBefore(E data, E beforeData);
+
+    void delete(E data);
+
+    void deleteAll(E data);
+
+    Object search(E data);
+
+    Object getDataAt(int index);
+
+    String render();
+
+    /*
+     * The three implementations being compared
+     * Delete and search operations on the baselines are the closest equivalents (remove(Object), removeIf(), indexOf(), contains()), and java.util.LinkedList
+     * has no insertAfter / insertBefore, so those are done with indexOf() followed by add(index, data) which is what a caller would have to write
+     * ArrayDeque has no equivalent of insertAfter(), insertBefore() or getDataAt() at all, so it does not support them, and its versions of those
+     * methods are never called
+     */
+
+    static <E> Subject<E> linkedList() {
+        LinkedList<E> list = new LinkedList<>();
+
+        return new Subject<E>() {
+            public boolean supports(Operation operation) { return true; }
+            public void insertToFront(E data) { list.insertToFront(data); }
+            public void insertToTail(E data) { list.insertToTail(data); }
+            public void insertAfter(E data, E afterData) { list.insertAfter(data, afterData); }
+            public void insertBefore(E data, E beforeData) { list.insertBefore(data, beforeData); }
+            public void delete(E data) { list.delete(data); }
+            public void deleteAll(E data) { list.deleteAll(data); }
+            public Object search(E data) { return list.search(data); }
+            public Object getDataAt(int index) { return list.getDataAt(index); }
+            public String render() { return list.toString(); }
+        };
+    }
+
+    static <E> Subject<E> javaUtilLinkedList() {
+        java.util.LinkedList<E> list = new java.util.LinkedList<>();
+
+        return new Subject<E>() {
+            public boolean supports(Operation operation) { return true; }
+            public void insertToFront(E data) { list.addFirst(data); }
+            public void insertToTail(E data) { list.addLast(data); }
+            public void insertAfter(E data, E afterData) {
+                int index = list.indexOf(afterData);
+                list.add(index < 0 ? list.size() : index + 1, data);
+            }
+            public void insertBefore(E data, E beforeData) {
+                int index = list.indexOf(beforeData);
+                list.add(index < 0 ? list.size() : index, data);
+            }
+            public void delete(E data) { list.remove(data); }
+            public void deleteAll(E data) { list.removeIf(data::equals); }
+            public Object search(E data) { int index = list.indexOf(data); return index < 0 ? null : list.get(index); }
+            public Object getDataAt(int index) { return list.get(index); }
+            public String render() { return list.toString(); }
+        };
+    }
+
+    static <E> Subject<E> arrayDeque() {
+        ArrayDeque<E> deque = new ArrayDeque<>();
+
+        return new Subject<E>() {
+            public boolean supports(Operation operation) {
+                return operation != Operation.INSERT_AFTER && operation != Operation.INSERT_BEFORE && operation != Operation.GET_DATA_AT;
+            }
+            public void insertToFront(E data) { deque.addFirst(data); }
+            public void insertToTail(E data) { deque.addLast(data); }
+            public void insertAfter(E data, E afterData) { throw new IllegalStateException("ArrayDeque does not support insertAfter()"); }
+            public void insertBefore(E data, E beforeData) { throw new IllegalStateException("ArrayDeque does not support insertBefore()"); }
+            public void delete(E data) { deque.removeFirstOccurrence(data); }
+            public void deleteAll(E data) { deque.removeIf(data::equals); }
+            public Object search(E data) { return deque.contains(data) ? data : null; }
+            public Object getDataAt(int index) { throw new IllegalStateException("ArrayDeque does not support getDataAt()"); }
+            public String render() { return deque.toString(); }
+        };
+    }
+}
\ No newline at end of file
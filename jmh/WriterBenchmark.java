@@ -0,0 +1,110 @@
+package Java.libraries.DATA_STRUCTURES.linkedList;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * WriterBenchmark has producer threads that each insert values to the tail and delete the value they inserted WINDOW inserts earlier (so the list
+ * stays small and the deletes do not walk far), through a SingleWriterLinkedList and through a LinkedList behind a lock
+ * Every call to change() is one insert and (after the first WINDOW) one delete
+ * It runs 4 producers, and -t changes that (for example -t 8)
+ *
+ * The SingleWriterLinkedList changes only count as done once the writer has applied them, so every producer waits for its last change at the end of
+ * each iteration
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class WriterBenchmark {
+
+    static final int WINDOW = 16;
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({ "SingleWriterLinkedList", "synchronized LinkedList" })
+        public String implementation;
+
+        SingleWriterLinkedList<Long> writer;
+        LinkedList<Long> locked;
+        final AtomicInteger producers = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            if (implementation.equals("SingleWriterLinkedList"))
+                writer = new SingleWriterLinkedList<>();
+            else
+                locked = new LinkedList<>();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (writer != null)
+                writer.close();
+        }
+    }
+
+    /*
+     * Each producer gets its own range of values (its number times 2^40 upwards), so the values of different producers never clash
+     */
+
+    @State(Scope.Thread)
+    public static class Producer {
+
+        long base;
+        long next = 0;
+        CompletableFuture<?> last;
+
+        @Setup(Level.Trial)
+        public void setUp(Shared shared) {
+            base = (long) shared.producers.getAndIncrement() << 40;
+        }
+
+        @TearDown(Level.Iteration)
+        public void waitForWriter() {
+            if (last != null)
+                last.join();
+        }
+    }
+
+    @Benchmark
+    public void change(Shared shared, Producer producer) {
+        long value = producer.base + producer.next ++;
+
+        if (shared.writer != null) {
+            producer.last = shared.writer.insertToTail(value);
+            if (producer.next > WINDOW)
+                producer.last = shared.writer.delete(value - WINDOW);
+            return;
+        }
+
+        synchronized (shared.locked) {
+            shared.locked.insertToTail(value);
+        }
+        if (producer.next > WINDOW) {
+            synchronized (shared.locked) {
+                shared.locked.delete(value - WINDOW);
+            }
+        }
+    }
+}
\ No newline at end of file